@@ -0,0 +1,82 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar.
+ * <p>
+ * Accepts the usual JMH command line (benchmark regex, {@code -f}, {@code -wi}, ...) and always adds the GC
+ * profiler, so every run reports allocation ({@code gc.alloc.rate.norm}, bytes/op) next to throughput.
+ * Results are written as JSON to {@code jmh-result.json} unless {@code -rf}/{@code -rff} say otherwise.
+ * </p>
+ * <p>
+ * {@code -Dbench.threads=1,2,4,8} repeats the selected benchmarks once per thread count and writes all
+ * the runs into the same result file, each entry tagged with its {@code threads}.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+    private static final String THREADS_PROPERTY = "bench.threads";
+
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        List<Integer> threadSweep = threadSweep();
+        if (threadSweep.isEmpty()) {
+            new Runner(options(commandLine, null)).run();
+            return;
+        }
+
+        List<RunResult> results = new ArrayList<>();
+        for (Integer threads : threadSweep) {
+            Collection<RunResult> run = new Runner(options(commandLine, threads)).run();
+            results.addAll(run);
+        }
+        ResultFormatFactory.getInstance(
+            commandLine.getResultFormat().orElse(ResultFormatType.JSON),
+            commandLine.getResult().orElse(DEFAULT_RESULT_FILE)).writeOut(results);
+    }
+
+    private static Options options(CommandLineOptions commandLine, Integer threads) {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class);
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (threads != null) {
+            options.threads(threads);
+        }
+        return options.build();
+    }
+
+    private static List<Integer> threadSweep() {
+        String sweep = System.getProperty(THREADS_PROPERTY, "");
+        return Arrays.stream(sweep.split(","))
+            .map(String::trim)
+            .filter(count -> !count.isEmpty())
+            .map(Integer::valueOf)
+            .toList();
+    }
+}
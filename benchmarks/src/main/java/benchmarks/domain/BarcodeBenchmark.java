@@ -0,0 +1,50 @@
+package benchmarks.domain;
+
+import domain.stock.Barcode;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Barcode value object: every scan builds one, and every lookup hashes and compares it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BarcodeBenchmark {
+
+    private String scanned = "7790387000018";
+    private final Barcode barcode = new Barcode("7790387000018");
+    private final Barcode sameValue = new Barcode(new String("7790387000018"));
+    private final Barcode otherValue = new Barcode("7790387000025");
+
+    @Benchmark
+    public Barcode construct() {
+        return new Barcode(scanned);
+    }
+
+    @Benchmark
+    public boolean equalsSameValue() {
+        return barcode.equals(sameValue);
+    }
+
+    @Benchmark
+    public boolean equalsOtherValue() {
+        return barcode.equals(otherValue);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return barcode.hashCode();
+    }
+}
@@ -0,0 +1,51 @@
+package benchmarks.domain;
+
+import domain.common.Guard;
+import domain.common.Money;
+import domain.common.Quantity;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The Guard checks run on every stock operation; passing values only, as on the happy path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GuardBenchmark {
+
+    private String name = "Yerba Mate 1kg";
+    private Quantity quantity = Quantity.parse("2.000");
+    private Money cost = Money.parse("1500.00");
+
+    @Benchmark
+    public void againstNullOrEmpty() {
+        Guard.againstNullOrEmpty(name, "Product name");
+    }
+
+    @Benchmark
+    public void againstNegativeQuantity() {
+        Guard.againstNegative(quantity, "Quantity");
+    }
+
+    @Benchmark
+    public void againstZeroOrNegativeMoney() {
+        Guard.againstZeroOrNegative(cost, "Cost");
+    }
+
+    @Benchmark
+    public void againstFractional() {
+        Guard.againstFractional(quantity, "Quantity");
+    }
+}
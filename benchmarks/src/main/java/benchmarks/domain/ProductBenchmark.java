@@ -0,0 +1,70 @@
+package benchmarks.domain;
+
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.StockChange;
+import domain.stock.UnitType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Stock operations on a single product, each followed by taking the pending stock change the way the
+ * use cases do before appending it to the ledger.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductBenchmark {
+
+    private static final long PLENTY_OF_UNITS = 1_000_000_000_000L;
+
+    private final Quantity oneUnit = Quantity.ofUnits(1);
+    private final Quantity lowCount = Quantity.ofUnits(100);
+    private final Quantity highCount = Quantity.ofUnits(120);
+    private final Money entryCost = Money.parse("1500.00");
+
+    private Product product;
+    private boolean high;
+
+    @Setup(Level.Iteration)
+    public void createProduct() {
+        product = new Product("Yerba Mate 1kg", new Barcode("7790387000018"), UnitType.UNIT,
+            Quantity.ofUnits(PLENTY_OF_UNITS), entryCost);
+        product.pullStockChanges();
+    }
+
+    @Benchmark
+    public List<StockChange> restock() {
+        product.restock(oneUnit, entryCost);
+        return product.pullStockChanges();
+    }
+
+    @Benchmark
+    public List<StockChange> reduceStock() {
+        product.reduceStock(oneUnit);
+        return product.pullStockChanges();
+    }
+
+    @Benchmark
+    public List<StockChange> adjustStock() {
+        high = !high;
+        product.adjustStock(high ? highCount : lowCount);
+        return product.pullStockChanges();
+    }
+}
@@ -0,0 +1,118 @@
+package benchmarks.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Response and service time histograms per {@link Operation}, in microseconds.
+ * Each terminal fills its own report; the driver adds them up once the run is over.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1_000.0;
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private final Map<Operation, Histogram> response = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> service = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+    private final Map<Operation, RuntimeException> firstFailures = new EnumMap<>(Operation.class);
+    private long elapsedNanos;
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            response.put(operation, new Histogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS));
+            service.put(operation, new Histogram(HIGHEST_MICROS, SIGNIFICANT_DIGITS));
+            errors.put(operation, 0L);
+        }
+    }
+
+    void record(Operation operation, long responseNanos, long serviceNanos, RuntimeException failure) {
+        response.get(operation).recordValue(clamp(responseNanos / NANOS_PER_MICRO));
+        service.get(operation).recordValue(clamp(serviceNanos / NANOS_PER_MICRO));
+        if (failure != null) {
+            errors.merge(operation, 1L, Long::sum);
+            firstFailures.putIfAbsent(operation, failure);
+        }
+    }
+
+    private static long clamp(long micros) {
+        return Math.max(0, Math.min(micros, HIGHEST_MICROS));
+    }
+
+    void add(LatencyReport other) {
+        for (Operation operation : Operation.values()) {
+            response.get(operation).add(other.response.get(operation));
+            service.get(operation).add(other.service.get(operation));
+            errors.merge(operation, other.errors.get(operation), Long::sum);
+        }
+        other.firstFailures.forEach(firstFailures::putIfAbsent);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%-8s %9s %7s %10s %10s %10s %10s %10s %12s%n", "op", "count", "errors",
+            "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        long total = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram latency = response.get(operation);
+            if (latency.getTotalCount() == 0) {
+                continue;
+            }
+            total += latency.getTotalCount();
+            out.printf(Locale.ROOT, "%-8s %9d %7d %10.2f %10.2f %10.2f %10.2f %10.2f %12.2f%n", operation,
+                latency.getTotalCount(), errors.get(operation),
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / MICROS_PER_MILLI, millis(service.get(operation), 99));
+        }
+        double seconds = elapsedNanos / 1e9;
+        out.printf(Locale.ROOT, "%d operations measured, %.1f ops/s over %.1f s%n", total, total / seconds, seconds);
+        firstFailures.forEach((operation, failure) ->
+            out.printf(Locale.ROOT, "first %s failure: %s%n", operation, failure));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Writes the full percentile distribution of every operation that ran, as {@code <op>.hgrm} files
+     * (response time) and {@code <op>-service.hgrm} files, in milliseconds. They load as-is into the
+     * HdrHistogram plotter.
+     *
+     * @param directory where to write the files
+     */
+    void write(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            for (Operation operation : Operation.values()) {
+                if (response.get(operation).getTotalCount() == 0) {
+                    continue;
+                }
+                String name = operation.name().toLowerCase(Locale.ROOT);
+                writeDistribution(response.get(operation), directory.resolve(name + ".hgrm"));
+                writeDistribution(service.get(operation), directory.resolve(name + "-service.hgrm"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write histograms to " + directory, e);
+        }
+    }
+
+    private static void writeDistribution(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+}
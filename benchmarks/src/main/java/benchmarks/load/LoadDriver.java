@@ -0,0 +1,79 @@
+package benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a {@link Trace} on a fixed schedule: every terminal runs on its own thread and works through its
+ * operations in order, starting each one when the trace says it is due, or right away if it is already late.
+ * <p>
+ * Response time is measured from the moment the operation was due, not from when the terminal got to
+ * start it, so a stall that delays the operations queued behind it shows up in their latency instead
+ * of silently lowering the offered load (coordinated omission). Service time, from actual start to end,
+ * is recorded next to it.
+ * </p>
+ */
+final class LoadDriver {
+
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private final StoreActions actions;
+    private final double speed;
+    private final long warmupMicros;
+
+    LoadDriver(StoreActions actions, double speed, long warmupMicros) {
+        this.actions = actions;
+        this.speed = speed;
+        this.warmupMicros = warmupMicros;
+    }
+
+    LatencyReport replay(Trace trace) throws InterruptedException {
+        List<List<TraceEvent>> perTerminal = trace.byTerminal();
+        List<LatencyReport> reports = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+
+        for (int terminal = 0; terminal < perTerminal.size(); terminal++) {
+            List<TraceEvent> events = perTerminal.get(terminal);
+            LatencyReport report = new LatencyReport();
+            reports.add(report);
+            Thread thread = new Thread(() -> runTerminal(events, startNanos, report), "terminal-" + (terminal + 1));
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyReport total = new LatencyReport();
+        reports.forEach(total::add);
+        total.setElapsedNanos(System.nanoTime() - startNanos - (long) (warmupMicros * NANOS_PER_MICRO / speed));
+        return total;
+    }
+
+    private void runTerminal(List<TraceEvent> events, long startNanos, LatencyReport report) {
+        for (TraceEvent event : events) {
+            long dueNanos = startNanos + (long) (event.atMicros() * NANOS_PER_MICRO / speed);
+            waitUntil(dueNanos);
+            long begin = System.nanoTime();
+            RuntimeException failure = null;
+            try {
+                actions.perform(event);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            long end = System.nanoTime();
+            if (event.atMicros() >= warmupMicros) {
+                report.record(event.operation(), end - dueNanos, end - begin, failure);
+            }
+        }
+    }
+
+    private static void waitUntil(long dueNanos) {
+        for (long wait = dueNanos - System.nanoTime(); wait > 0; wait = dueNanos - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package benchmarks.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line of {@link StoreLoad}, given as {@code --name=value} pairs. Durations accept {@code s},
+ * {@code m} and {@code h} suffixes; the mix is a list like {@code scan:900,restock:60,edit:40}, where
+ * operations left out keep their default weight.
+ *
+ * @param catalogSize   products in the seeded catalog
+ * @param terminals     simulated terminals issuing operations concurrently
+ * @param rate          operations per second across all terminals
+ * @param duration      length of the generated trace
+ * @param warmup        leading part of the run executed but left out of the histograms
+ * @param seed          seed of the generated trace
+ * @param zipfExponent  skew of barcode popularity
+ * @param mix           weight of each operation
+ * @param record        where to save the generated trace, or {@code null}
+ * @param replay        trace to replay instead of generating one, or {@code null}
+ * @param speed         replay speed factor, 2 runs the trace in half the time
+ * @param output        directory for the histogram files
+ * @param generateOnly  whether to stop after recording the trace
+ */
+record LoadOptions(
+    int catalogSize,
+    int terminals,
+    double rate,
+    Duration duration,
+    Duration warmup,
+    long seed,
+    double zipfExponent,
+    Map<Operation, Integer> mix,
+    Path record,
+    Path replay,
+    double speed,
+    Path output,
+    boolean generateOnly
+) {
+
+    private static final String PREFIX = "--";
+
+    static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg.substring(PREFIX.length()) : arg.substring(PREFIX.length(), equals);
+            values.put(name, equals < 0 ? "true" : arg.substring(equals + 1));
+        }
+        return new LoadOptions(
+            Integer.parseInt(values.getOrDefault("catalog", "100000")),
+            Integer.parseInt(values.getOrDefault("terminals", "8")),
+            Double.parseDouble(values.getOrDefault("rate", "40")),
+            duration(values.getOrDefault("duration", "60s")),
+            duration(values.getOrDefault("warmup", "10s")),
+            Long.parseLong(values.getOrDefault("seed", "42")),
+            Double.parseDouble(values.getOrDefault("zipf", "1.0")),
+            mix(values.getOrDefault("mix", "")),
+            path(values.get("record")),
+            path(values.get("replay")),
+            Double.parseDouble(values.getOrDefault("speed", "1")),
+            Path.of(values.getOrDefault("output", "target/load")),
+            Boolean.parseBoolean(values.getOrDefault("generate-only", "false")));
+    }
+
+    private static Duration duration(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        char unit = value.charAt(value.length() - 1);
+        if (Character.isDigit(unit)) {
+            return Duration.ofSeconds(Long.parseLong(value));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (unit) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown duration unit in " + text);
+        };
+    }
+
+    private static Map<Operation, Integer> mix(String text) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, operation.getDefaultWeight());
+        }
+        for (String entry : text.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] pair = entry.split(":");
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Path path(String value) {
+        return value == null ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,24 @@
+package benchmarks.load;
+
+/**
+ * What a simulated terminal does in one step of the store workload.
+ * The weights are the default share of each operation during a Saturday peak, in tenths of a percent:
+ * mostly scans at the tills, some restocks and edits in the back office, and the odd margin change.
+ */
+public enum Operation {
+    SCAN(850),
+    RESTOCK(80),
+    EDIT(40),
+    LOGIN(29),
+    MARGIN(1);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
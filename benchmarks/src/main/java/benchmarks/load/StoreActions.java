@@ -0,0 +1,134 @@
+package benchmarks.load;
+
+import application.configuration.GlobalConfigProvider;
+import application.dtos.ProductEntryDTO;
+import application.dtos.UpdateProductDTO;
+import application.interfaces.GlobalConfigRepository;
+import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
+import application.interfaces.UnitOfWork;
+import application.interfaces.UserRepository;
+import application.session.SessionContext;
+import application.usecases.LoginUser;
+import application.usecases.RegisterProductEntry;
+import application.usecases.UpdateGlobalConfig;
+import application.usecases.UpdateProductDetails;
+import domain.common.DomainException;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.users.User;
+import domain.users.UserRole;
+import infrastructure.metrics.StoreMetrics;
+import infrastructure.persistence.SqliteGlobalConfigRepository;
+import infrastructure.persistence.SqliteProductRepository;
+import infrastructure.persistence.SqliteStockMovementRepository;
+import infrastructure.persistence.SqliteUserRepository;
+import infrastructure.persistence.cache.CachingProductRepository;
+import infrastructure.persistence.cache.ProductSnapshotCache;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import infrastructure.persistence.seed.DatabaseSeeder;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The application as a terminal sees it, wired the way {@code MainApp} wires it: the cached product
+ * repository, the SQLite ledger and one Hibernate unit of work per use case. Runs one {@link TraceEvent}
+ * at a time. Use cases and repositories record into {@link StoreMetrics} like in the application, so the
+ * per-layer latencies can be watched over JMX during a run.
+ */
+final class StoreActions {
+
+    static final String ADMIN = "admin";
+    static final String ADMIN_PASSWORD = "1234";
+
+    private static final String CASHIER_PREFIX = "caja";
+    private static final String CASHIER_PASSWORD = "caja1234";
+    private static final int PRODUCT_CACHE_ENTRIES = 50_000;
+
+    private final ProductRepository products;
+    private final LoginUser loginUser;
+    private final RegisterProductEntry registerProductEntry;
+    private final UpdateProductDetails updateProductDetails;
+    private final UpdateGlobalConfig updateGlobalConfig;
+    private final List<User> cashiers;
+    private final User admin;
+    private final StoreMetrics metrics = StoreMetrics.getInstance();
+
+    private StoreActions(int terminals) {
+        SqliteUserRepository users = new SqliteUserRepository();
+        new DatabaseSeeder(users).seed();
+        this.admin = users.findByUsername(ADMIN).orElseThrow();
+        this.cashiers = new ArrayList<>();
+        for (int terminal = 0; terminal < terminals; terminal++) {
+            String username = cashierOf(terminal);
+            cashiers.add(users.findByUsername(username)
+                .orElseGet(() -> users.save(new User(username, CASHIER_PASSWORD, UserRole.SELLER))));
+        }
+
+        UnitOfWork unitOfWork = new HibernateUnitOfWork();
+        this.products = metrics.instrument(ProductRepository.class, new CachingProductRepository(
+            new SqliteProductRepository(), new ProductSnapshotCache(PRODUCT_CACHE_ENTRIES)));
+        this.loginUser = new LoginUser(metrics.instrument(UserRepository.class, users), SessionContext.getInstance());
+        GlobalConfigRepository config = metrics.instrument(GlobalConfigRepository.class,
+            new SqliteGlobalConfigRepository());
+        GlobalConfigProvider configProvider = new GlobalConfigProvider(config);
+        this.registerProductEntry = new RegisterProductEntry(products,
+            metrics.instrument(StockMovementRepository.class, new SqliteStockMovementRepository()), configProvider,
+            unitOfWork);
+        this.updateProductDetails = new UpdateProductDetails(products, unitOfWork);
+        this.updateGlobalConfig = new UpdateGlobalConfig(config, products, configProvider, unitOfWork);
+    }
+
+    /**
+     * Wires the use cases against the database Hibernate currently points at, creating the admin and one
+     * cashier per terminal when they do not exist yet.
+     *
+     * @param terminals number of simulated terminals
+     * @return the actions
+     */
+    static StoreActions prepare(int terminals) {
+        return new StoreActions(terminals);
+    }
+
+    static String cashierOf(int terminal) {
+        return CASHIER_PREFIX + (terminal + 1);
+    }
+
+    void perform(TraceEvent event) {
+        User actor = cashiers.get(event.terminal());
+        switch (event.operation()) {
+            case SCAN -> scan(event.subject());
+            case RESTOCK -> metrics.time(StoreMetrics.USE_CASE, "RegisterProductEntry",
+                () -> restock(actor, event.subject(), Quantity.parse(event.argument())));
+            case EDIT -> metrics.time(StoreMetrics.USE_CASE, "UpdateProductDetails",
+                () -> edit(actor, event.subject(), Money.parse(event.argument())));
+            case LOGIN -> metrics.time(StoreMetrics.USE_CASE, "LoginUser", () -> loginUser.execute(event.subject(),
+                ADMIN.equals(event.subject()) ? ADMIN_PASSWORD : CASHIER_PASSWORD));
+            case MARGIN -> metrics.time(StoreMetrics.USE_CASE, "UpdateGlobalConfig", () -> {
+                updateGlobalConfig.execute(admin, new BigDecimal(event.argument()));
+                return null;
+            });
+            default -> throw new IllegalStateException("Unknown operation " + event.operation());
+        }
+    }
+
+    private Product scan(String barcode) {
+        return products.findByBarcode(new Barcode(barcode))
+            .orElseThrow(() -> new DomainException("Product not found: " + barcode));
+    }
+
+    private Product restock(User actor, String barcode, Quantity units) {
+        Product product = scan(barcode);
+        return registerProductEntry.execute(actor, new ProductEntryDTO(product.getName(), product.getDescription(),
+            barcode, product.getUnitType(), units, product.getCost()));
+    }
+
+    private Product edit(User actor, String barcode, Money cost) {
+        Product product = scan(barcode);
+        return updateProductDetails.execute(actor, new UpdateProductDTO(product.getId(), product.getVersion(),
+            product.getName(), product.getDescription(), barcode, product.getUnitType(), cost));
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks.load;
+
+import benchmarks.support.SeededCatalog;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Drives the application with synthetic store traffic and reports latency histograms per operation.
+ * <p>
+ * Generates a trace from the options (or reads one with {@code --replay}), optionally saves it with
+ * {@code --record}, then replays it against a fresh copy of a seeded catalog through the real use cases.
+ * For example, a Saturday peak of 12 terminals at 60 operations per second for ten minutes:
+ * </p>
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar benchmarks.load.StoreLoad \
+ *     --catalog=100000 --terminals=12 --rate=60 --duration=10m --record=target/load/saturday.tsv
+ * java -cp benchmarks/target/benchmarks.jar benchmarks.load.StoreLoad --replay=target/load/saturday.tsv
+ * </pre>
+ * <p>
+ * Replaying the same trace issues the same operations at the same offsets from the same catalog, so two
+ * builds can be compared under identical load; only the interleaving of concurrent terminals varies.
+ * </p>
+ */
+public final class StoreLoad {
+
+    private StoreLoad() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadOptions options = LoadOptions.parse(args);
+        Trace trace = options.replay() == null ? Trace.generate(options) : Trace.read(options.replay());
+        if (options.record() != null) {
+            trace.write(options.record());
+        }
+        System.out.printf(Locale.ROOT, "Trace: %d operations from %d terminals over %.1f s, catalog of %d%n",
+            trace.size(), trace.terminals(), trace.lengthMicros() / 1e6, trace.catalogSize());
+        if (options.generateOnly()) {
+            return;
+        }
+
+        Path workingCopy = SeededCatalog.open(trace.catalogSize());
+        try {
+            LoadDriver driver = new LoadDriver(StoreActions.prepare(trace.terminals()), options.speed(),
+                options.warmup().toNanos() / 1_000L);
+            LatencyReport report = driver.replay(trace);
+            report.print(System.out);
+            report.write(options.output());
+        } finally {
+            SeededCatalog.discard(workingCopy);
+        }
+    }
+}
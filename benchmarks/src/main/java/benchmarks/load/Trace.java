@@ -0,0 +1,181 @@
+package benchmarks.load;
+
+import benchmarks.support.SeededCatalog;
+import domain.common.Money;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A store workload: which terminal does what, and when.
+ * <p>
+ * Traces are generated from a seed, so the same options always give the same operations at the same offsets,
+ * and can be saved to a tab-separated file and replayed later, for instance to compare two builds under
+ * exactly the same load. Each terminal issues its operations as a Poisson process at its share of the rate.
+ * Scans, restocks and edits pick products with a Zipf distribution over a seeded shuffle of the catalog,
+ * so a few products are hot and most are rarely touched, without the hot ones being the first inserted.
+ * </p>
+ */
+final class Trace {
+
+    private static final String HEADER = "# storeflow-trace v1";
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int MAX_RESTOCK_UNITS = 24;
+    private static final long MIN_COST_CENTS = 50_000L;
+    private static final long MAX_COST_CENTS = 500_000L;
+    private static final int MIN_MARGIN_PERCENT = 30;
+    private static final int MAX_MARGIN_PERCENT = 60;
+
+    private final int catalogSize;
+    private final int terminals;
+    private final List<TraceEvent> events;
+
+    private Trace(int catalogSize, int terminals, List<TraceEvent> events) {
+        this.catalogSize = catalogSize;
+        this.terminals = terminals;
+        this.events = events;
+    }
+
+    static Trace generate(LoadOptions options) {
+        SplittableRandom root = new SplittableRandom(options.seed());
+        int[] byPopularity = shuffledCatalog(options.catalogSize(), root.split());
+        ZipfDistribution popularity = new ZipfDistribution(options.catalogSize(), options.zipfExponent());
+        double meanGapMicros = MICROS_PER_SECOND * options.terminals() / options.rate();
+        long endMicros = options.duration().toNanos() / 1_000L;
+
+        List<TraceEvent> events = new ArrayList<>();
+        for (int terminal = 0; terminal < options.terminals(); terminal++) {
+            SplittableRandom random = root.split();
+            double at = 0;
+            while (true) {
+                at += -meanGapMicros * Math.log(1 - random.nextDouble());
+                if (at >= endMicros) {
+                    break;
+                }
+                Operation operation = pick(options.mix(), random);
+                String barcode = SeededCatalog.barcodeOf(byPopularity[popularity.sample(random)]);
+                events.add(event((long) at, terminal, operation, barcode, random));
+            }
+        }
+        events.sort(Comparator.comparingLong(TraceEvent::atMicros));
+        return new Trace(options.catalogSize(), options.terminals(), events);
+    }
+
+    private static int[] shuffledCatalog(int size, SplittableRandom random) {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static Operation pick(Map<Operation, Integer> mix, SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int ticket = random.nextInt(total);
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            ticket -= weight.getValue();
+            if (ticket < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Operation mix has no positive weight");
+    }
+
+    private static TraceEvent event(long at, int terminal, Operation operation, String barcode,
+                                    SplittableRandom random) {
+        return switch (operation) {
+            case SCAN -> new TraceEvent(at, terminal, operation, barcode, TraceEvent.NO_ARGUMENT);
+            case RESTOCK -> new TraceEvent(at, terminal, operation, barcode,
+                String.valueOf(random.nextInt(1, MAX_RESTOCK_UNITS + 1)));
+            case EDIT -> new TraceEvent(at, terminal, operation, barcode,
+                new Money(random.nextLong(MIN_COST_CENTS, MAX_COST_CENTS)).toString());
+            case LOGIN -> new TraceEvent(at, terminal, operation, StoreActions.cashierOf(terminal),
+                TraceEvent.NO_ARGUMENT);
+            case MARGIN -> new TraceEvent(at, terminal, operation, StoreActions.ADMIN,
+                BigDecimal.valueOf(random.nextInt(MIN_MARGIN_PERCENT, MAX_MARGIN_PERCENT + 1), 2).toPlainString());
+        };
+    }
+
+    static Trace read(Path file) {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(HEADER)) {
+                throw new IllegalArgumentException(file + " is not a StoreFlow trace");
+            }
+            String[] fields = header.substring(HEADER.length()).trim().split(" ");
+            int catalogSize = Integer.parseInt(fields[0].substring("catalog=".length()));
+            int terminals = Integer.parseInt(fields[1].substring("terminals=".length()));
+            List<TraceEvent> events = new ArrayList<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                events.add(TraceEvent.parse(line));
+            }
+            return new Trace(catalogSize, terminals, events);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read trace " + file, e);
+        }
+    }
+
+    void write(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write(HEADER + " catalog=" + catalogSize + " terminals=" + terminals);
+                writer.newLine();
+                for (TraceEvent event : events) {
+                    writer.write(event.format());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write trace " + file, e);
+        }
+    }
+
+    /**
+     * Splits the trace into the operations of each terminal, in the order they are due.
+     *
+     * @return one list per terminal
+     */
+    List<List<TraceEvent>> byTerminal() {
+        List<List<TraceEvent>> perTerminal = new ArrayList<>();
+        for (int terminal = 0; terminal < terminals; terminal++) {
+            perTerminal.add(new ArrayList<>());
+        }
+        for (TraceEvent event : events) {
+            perTerminal.get(event.terminal()).add(event);
+        }
+        return perTerminal;
+    }
+
+    int catalogSize() {
+        return catalogSize;
+    }
+
+    int terminals() {
+        return terminals;
+    }
+
+    int size() {
+        return events.size();
+    }
+
+    long lengthMicros() {
+        return events.isEmpty() ? 0 : events.get(events.size() - 1).atMicros();
+    }
+}
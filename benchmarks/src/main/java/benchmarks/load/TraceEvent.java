@@ -0,0 +1,41 @@
+package benchmarks.load;
+
+/**
+ * One operation of a recorded workload.
+ * <p>
+ * {@code subject} is what the operation acts on (a barcode, or a username for logins) and {@code argument}
+ * its value: units received for restocks, the new cost for edits, the new margin for margin changes.
+ * Scans and logins have no argument.
+ * </p>
+ *
+ * @param atMicros  when the operation is due, in microseconds since the start of the run
+ * @param terminal  the simulated terminal that issues it
+ * @param operation what the terminal does
+ * @param subject   the barcode or username the operation acts on
+ * @param argument  the operation value, or {@code "-"} when it has none
+ */
+public record TraceEvent(
+    long atMicros,
+    int terminal,
+    Operation operation,
+    String subject,
+    String argument
+) {
+
+    static final String NO_ARGUMENT = "-";
+    private static final String SEPARATOR = "\t";
+    private static final int FIELDS = 5;
+
+    static TraceEvent parse(String line) {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length != FIELDS) {
+            throw new IllegalArgumentException("Malformed trace line: " + line);
+        }
+        return new TraceEvent(Long.parseLong(fields[0]), Integer.parseInt(fields[1]),
+            Operation.valueOf(fields[2]), fields[3], fields[4]);
+    }
+
+    String format() {
+        return atMicros + SEPARATOR + terminal + SEPARATOR + operation + SEPARATOR + subject + SEPARATOR + argument;
+    }
+}
@@ -0,0 +1,123 @@
+package benchmarks.persistence;
+
+import application.configuration.GlobalConfigProvider;
+import application.dtos.ProductEntryDTO;
+import application.usecases.RegisterProductEntry;
+import benchmarks.support.SeededCatalog;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.UnitType;
+import domain.users.User;
+import domain.users.UserRole;
+import infrastructure.persistence.SqliteGlobalConfigRepository;
+import infrastructure.persistence.SqliteProductRepository;
+import infrastructure.persistence.SqliteStockMovementRepository;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SqliteProductRepository} against real SQLite catalogs of 10k, 100k and 1M products.
+ * <p>
+ * Sample-time mode records every call, so the JSON report carries p50, p90, p99 and p99.9 latencies
+ * next to the mean. Lookups pick uniformly random products. Saves go through {@link RegisterProductEntry}
+ * in a Hibernate unit of work, as the product tab does: restocks hit existing products, creates add new
+ * ones. Run with {@code -t} or the runner's {@code bench.threads} sweep to see how each call scales with
+ * concurrent threads; reads share the read-only pool, writes queue on the single writer.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ProductRepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    private final AtomicLong createdProducts = new AtomicLong();
+    private final User actor = new User("bench", "bench", UserRole.SELLER);
+    private final Quantity oneUnit = Quantity.ofUnits(1);
+    private final Money entryCost = Money.parse("1500.00");
+
+    private Path workingCopy;
+    private SqliteProductRepository products;
+    private RegisterProductEntry registerProductEntry;
+    private String[] ids;
+
+    @Setup(Level.Trial)
+    public void openCatalog() {
+        workingCopy = SeededCatalog.open(catalogSize);
+        products = new SqliteProductRepository();
+        registerProductEntry = new RegisterProductEntry(products, new SqliteStockMovementRepository(),
+            new GlobalConfigProvider(new SqliteGlobalConfigRepository()), new HibernateUnitOfWork());
+        ids = SeededCatalog.loadIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void closeCatalog() {
+        SeededCatalog.discard(workingCopy);
+    }
+
+    /**
+     * Per-thread source of random catalog positions.
+     */
+    @State(Scope.Thread)
+    public static class Picker {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        int next(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> findByBarcode(Picker picker) {
+        return products.findByBarcode(new Barcode(SeededCatalog.barcodeOf(picker.next(catalogSize))));
+    }
+
+    @Benchmark
+    public Optional<Product> findById(Picker picker) {
+        return products.findById(ids[picker.next(ids.length)]);
+    }
+
+    @Benchmark
+    public int findAll() {
+        return products.findAll().size();
+    }
+
+    @Benchmark
+    public Product saveRestock(Picker picker) {
+        String barcode = SeededCatalog.barcodeOf(picker.next(catalogSize));
+        return registerProductEntry.execute(actor, new ProductEntryDTO(null, null, barcode, null, oneUnit,
+            entryCost));
+    }
+
+    @Benchmark
+    public Product saveCreate() {
+        String barcode = SeededCatalog.barcodeAfterCatalog(createdProducts.getAndIncrement());
+        return registerProductEntry.execute(actor, new ProductEntryDTO("Producto nuevo " + barcode,
+            "Alta de benchmark", barcode, UnitType.UNIT, oneUnit, entryCost));
+    }
+}
@@ -0,0 +1,22 @@
+package benchmarks.support;
+
+import application.interfaces.StockMovementRepository;
+import domain.stock.StockMovement;
+import java.util.List;
+
+/**
+ * Ledger that only counts what it is given, so long benchmark runs do not grow the heap.
+ */
+public class CountingStockMovementRepository implements StockMovementRepository {
+
+    private long appended;
+
+    @Override
+    public void append(List<StockMovement> movements) {
+        appended += movements.size();
+    }
+
+    public long getAppended() {
+        return appended;
+    }
+}
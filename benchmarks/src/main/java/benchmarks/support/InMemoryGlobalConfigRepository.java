@@ -0,0 +1,24 @@
+package benchmarks.support;
+
+import application.interfaces.GlobalConfigRepository;
+import domain.configuration.GlobalConfig;
+import java.util.Optional;
+
+/**
+ * Configuration held in a field, starting from the defaults.
+ */
+public class InMemoryGlobalConfigRepository implements GlobalConfigRepository {
+
+    private GlobalConfig config = GlobalConfig.defaults();
+
+    @Override
+    public GlobalConfig save(GlobalConfig config) {
+        this.config = config;
+        return config;
+    }
+
+    @Override
+    public Optional<GlobalConfig> find() {
+        return Optional.of(config);
+    }
+}
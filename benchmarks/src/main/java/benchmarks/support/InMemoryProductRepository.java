@@ -0,0 +1,81 @@
+package benchmarks.support;
+
+import application.dtos.ProductCursor;
+import application.interfaces.ProductRepository;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Hash map backed repository, so use case benchmarks measure the domain and application code only.
+ * Not thread-safe: every benchmark thread gets its own instance.
+ */
+public class InMemoryProductRepository implements ProductRepository {
+
+    private static final Comparator<Product> CATALOG_ORDER = Comparator.comparing(Product::getName)
+        .thenComparing(Product::getId);
+
+    private final Map<String, Product> byId = new HashMap<>();
+    private final Map<Barcode, Product> byBarcode = new HashMap<>();
+    private final Map<String, Barcode> barcodeById = new HashMap<>();
+
+    @Override
+    public Product save(Product product) {
+        Barcode previous = barcodeById.put(product.getId(), product.getBarcode());
+        if (previous != null && !previous.equals(product.getBarcode())) {
+            byBarcode.remove(previous);
+        }
+        byId.put(product.getId(), product);
+        byBarcode.put(product.getBarcode(), product);
+        return product;
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public Optional<Product> findByBarcode(Barcode barcode) {
+        return Optional.ofNullable(byBarcode.get(barcode));
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return new ArrayList<>(byId.values());
+    }
+
+    @Override
+    public List<Product> findPage(ProductCursor after, int limit) {
+        return streamAll()
+            .filter(product -> after == null || isAfter(product, after))
+            .limit(limit)
+            .toList();
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return byId.values().stream().sorted(CATALOG_ORDER);
+    }
+
+    @Override
+    public List<Product> search(String text, int limit) {
+        String needle = text.toLowerCase(Locale.ROOT);
+        return streamAll()
+            .filter(product -> product.getName().toLowerCase(Locale.ROOT).contains(needle))
+            .limit(limit)
+            .toList();
+    }
+
+    private static boolean isAfter(Product product, ProductCursor cursor) {
+        int byName = product.getName().compareTo(cursor.name());
+        return byName > 0 || byName == 0 && product.getId().compareTo(cursor.id()) > 0;
+    }
+}
@@ -0,0 +1,149 @@
+package benchmarks.support;
+
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.stock.UnitType;
+import domain.users.User;
+import domain.users.UserRole;
+import infrastructure.persistence.SqliteProductRepository;
+import infrastructure.persistence.SqliteStockMovementRepository;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import infrastructure.persistence.config.HibernateUtil;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * SQLite databases holding a product catalog of a given size, for persistence benchmarks.
+ * <p>
+ * A catalog is seeded once through {@link SqliteProductRepository} and the stock ledger, then kept as a
+ * template under {@code target/bench-db}. Each benchmark trial works on a fresh copy of the template, so
+ * the write benchmarks never leak into the next trial. Hibernate is pointed at the copy through the
+ * {@code hibernate.*} system property overrides, which is why every trial needs its own forked JVM.
+ * </p>
+ */
+public final class SeededCatalog {
+
+    private static final Logger LOGGER = Logger.getLogger(SeededCatalog.class.getName());
+
+    private static final Path DIRECTORY = Path.of("target", "bench-db");
+    private static final long FIRST_BARCODE = 7_790_000_000_000L;
+    private static final int SEED_CHUNK = 5_000;
+    private static final String[] BRANDS = {"Marolio", "Arcor", "Molinos", "Ledesma", "La Serenisima", "Taragui"};
+    private static final String[] ITEMS = {"Yerba", "Azucar", "Harina", "Fideos", "Aceite", "Leche", "Arroz", "Cafe"};
+    private static final String[] SIZES = {"500g", "1kg", "2kg", "1l", "1.5l", "250g"};
+
+    private SeededCatalog() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Points Hibernate at a fresh copy of the catalog with the given number of products,
+     * seeding the template first if it does not exist yet. Seeding a million products takes minutes;
+     * later runs reuse the template.
+     *
+     * @param size the number of products in the catalog
+     * @return the working copy, to be removed with {@link #discard(Path)}
+     */
+    public static Path open(int size) {
+        try {
+            Files.createDirectories(DIRECTORY);
+            Path template = DIRECTORY.resolve("catalog-" + size + ".db");
+            if (!Files.exists(template)) {
+                Path seeding = DIRECTORY.resolve("catalog-" + size + ".seeding.db");
+                deleteDatabase(seeding);
+                connectTo(seeding);
+                seed(size);
+                HibernateUtil.shutdown();
+                Files.move(seeding, template);
+            }
+            Path workingCopy = Files.createTempFile(DIRECTORY, "catalog-" + size + "-", ".db");
+            Files.copy(template, workingCopy, StandardCopyOption.REPLACE_EXISTING);
+            connectTo(workingCopy);
+            return workingCopy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to prepare catalog of " + size + " products", e);
+        }
+    }
+
+    private static void connectTo(Path database) {
+        System.setProperty("hibernate.connection.url", "jdbc:sqlite:" + database.toAbsolutePath());
+        System.setProperty("hibernate.show_sql", "false");
+        HibernateUtil.getSessionFactory();
+    }
+
+    /**
+     * Shuts Hibernate down and deletes the working copy with its WAL files.
+     *
+     * @param workingCopy the path returned by {@link #open(int)}
+     */
+    public static void discard(Path workingCopy) {
+        HibernateUtil.shutdown();
+        try {
+            deleteDatabase(workingCopy);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete " + workingCopy, e);
+        }
+    }
+
+    private static void deleteDatabase(Path database) throws IOException {
+        for (String suffix : List.of("", "-wal", "-shm")) {
+            Files.deleteIfExists(Path.of(database + suffix));
+        }
+    }
+
+    public static String barcodeOf(int index) {
+        return String.valueOf(FIRST_BARCODE + index);
+    }
+
+    public static String barcodeAfterCatalog(long offset) {
+        return String.valueOf(FIRST_BARCODE * 2 + offset);
+    }
+
+    /**
+     * Reads the ids of every product, so id lookups can pick existing products at random.
+     *
+     * @return all product ids
+     */
+    public static String[] loadIds() {
+        return HibernateUnitOfWork.read(session -> session
+            .createNativeQuery("SELECT id FROM products", String.class)
+            .list()
+            .toArray(new String[0]));
+    }
+
+    private static void seed(int size) {
+        LOGGER.info(() -> "Seeding catalog of " + size + " products");
+        SqliteProductRepository products = new SqliteProductRepository();
+        SqliteStockMovementRepository ledger = new SqliteStockMovementRepository();
+        User seeder = new User("seeder", "seeder", UserRole.ADMIN);
+        HibernateUnitOfWork unitOfWork = new HibernateUnitOfWork();
+
+        for (int start = 0; start < size; start += SEED_CHUNK) {
+            int from = start;
+            int to = Math.min(size, start + SEED_CHUNK);
+            unitOfWork.run(() -> {
+                for (int i = from; i < to; i++) {
+                    Product product = products.save(newProduct(i));
+                    ledger.append(StockMovement.takeFrom(product, seeder));
+                }
+            });
+        }
+    }
+
+    private static Product newProduct(int index) {
+        String name = ITEMS[index % ITEMS.length] + " " + BRANDS[(index / ITEMS.length) % BRANDS.length]
+            + " " + SIZES[index % SIZES.length] + " #" + index;
+        Product product = new Product(name, new Barcode(barcodeOf(index)), UnitType.UNIT,
+            Quantity.ofUnits(index % 100 + 1), Money.parse("1500.00"));
+        product.setDescription("Benchmark product " + index);
+        return product;
+    }
+}
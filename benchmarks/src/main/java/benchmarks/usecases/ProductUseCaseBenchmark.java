@@ -0,0 +1,88 @@
+package benchmarks.usecases;
+
+import application.configuration.GlobalConfigProvider;
+import application.dtos.ProductEntryDTO;
+import application.dtos.UpdateProductDTO;
+import application.usecases.RegisterProductEntry;
+import application.usecases.UpdateProductDetails;
+import benchmarks.support.CountingStockMovementRepository;
+import benchmarks.support.InMemoryGlobalConfigRepository;
+import benchmarks.support.InMemoryProductRepository;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.UnitType;
+import domain.users.User;
+import domain.users.UserRole;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Product use cases end to end against in-memory repositories, cycling over a seeded catalog so
+ * lookups are not always served by the same map entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductUseCaseBenchmark {
+
+    private static final int CATALOG_SIZE = 16_384;
+    private static final int CATALOG_MASK = CATALOG_SIZE - 1;
+    private static final long PLENTY_OF_UNITS = 1_000_000_000L;
+
+    private final User actor = new User("bench", "bench", UserRole.SELLER);
+
+    private RegisterProductEntry registerProductEntry;
+    private UpdateProductDetails updateProductDetails;
+    private ProductEntryDTO[] restocks;
+    private UpdateProductDTO[][] renames;
+    private int next;
+
+    @Setup
+    public void seedCatalog() {
+        InMemoryProductRepository products = new InMemoryProductRepository();
+        registerProductEntry = new RegisterProductEntry(products, new CountingStockMovementRepository(),
+            new GlobalConfigProvider(new InMemoryGlobalConfigRepository()));
+        updateProductDetails = new UpdateProductDetails(products);
+
+        restocks = new ProductEntryDTO[CATALOG_SIZE];
+        renames = new UpdateProductDTO[CATALOG_SIZE][];
+        Money cost = Money.parse("1500.00");
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            String barcode = String.valueOf(7_790_000_000_000L + i);
+            Product product = products.save(new Product("Product " + i, new Barcode(barcode), UnitType.UNIT,
+                Quantity.ofUnits(PLENTY_OF_UNITS), cost));
+            product.pullStockChanges();
+
+            restocks[i] = new ProductEntryDTO(null, null, barcode, null, Quantity.ofUnits(1), cost);
+            renames[i] = new UpdateProductDTO[] {
+                new UpdateProductDTO(product.getId(), null, "Product " + i, "A", barcode, UnitType.UNIT, cost),
+                new UpdateProductDTO(product.getId(), null, "Product " + i + " B", "B", barcode, UnitType.UNIT, cost)
+            };
+        }
+    }
+
+    @Benchmark
+    public Product registerProductEntryRestock() {
+        return registerProductEntry.execute(actor, restocks[next++ & CATALOG_MASK]);
+    }
+
+    @Benchmark
+    public Product updateProductDetails() {
+        int index = next++;
+        return updateProductDetails.execute(actor, renames[index & CATALOG_MASK][(index / CATALOG_SIZE) & 1]);
+    }
+}
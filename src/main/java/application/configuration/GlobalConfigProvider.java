@@ -0,0 +1,98 @@
+package application.configuration;
+
+import application.interfaces.GlobalConfigRepository;
+import domain.configuration.GlobalConfigSnapshot;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The global configuration in effect, held as an immutable snapshot so reading it is a field access.
+ * <p>
+ * The snapshot is loaded from the repository on first use and then only replaced when the configuration
+ * changes: {@link application.usecases.UpdateGlobalConfig} publishes the new one once it is committed. The
+ * field is volatile and the snapshot immutable, so every thread sees either the previous configuration or
+ * the new one, whole. Subscribers are told about every change, on the thread that made it.
+ * </p>
+ */
+public class GlobalConfigProvider {
+
+    private static final Logger LOGGER = Logger.getLogger(GlobalConfigProvider.class.getName());
+
+    private final GlobalConfigRepository repository;
+    private final List<Consumer<GlobalConfigSnapshot>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile GlobalConfigSnapshot current;
+
+    public GlobalConfigProvider(GlobalConfigRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Returns the configuration in effect, loading it on the first call only.
+     *
+     * @return the current snapshot
+     */
+    public GlobalConfigSnapshot current() {
+        GlobalConfigSnapshot snapshot = current;
+        return snapshot != null ? snapshot : reload();
+    }
+
+    /**
+     * Reads the configuration from the repository again, for changes made outside this provider.
+     *
+     * @return the snapshot now in effect
+     */
+    public GlobalConfigSnapshot reload() {
+        GlobalConfigSnapshot loaded;
+        GlobalConfigSnapshot previous;
+        synchronized (this) {
+            loaded = repository.findOrDefault().snapshot();
+            previous = swap(loaded);
+        }
+        notifyIfChanged(previous, loaded);
+        return loaded;
+    }
+
+    /**
+     * Makes a committed configuration the one in effect and tells the subscribers if it changed.
+     *
+     * @param snapshot the configuration as saved
+     */
+    public void publish(GlobalConfigSnapshot snapshot) {
+        notifyIfChanged(swap(snapshot), snapshot);
+    }
+
+    /**
+     * Registers a callback run with the new snapshot every time the configuration changes.
+     *
+     * @param subscriber the callback; it should be quick, as it runs on the thread changing the configuration
+     */
+    public void subscribe(Consumer<GlobalConfigSnapshot> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<GlobalConfigSnapshot> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private synchronized GlobalConfigSnapshot swap(GlobalConfigSnapshot snapshot) {
+        GlobalConfigSnapshot previous = current;
+        current = snapshot;
+        return previous;
+    }
+
+    private void notifyIfChanged(GlobalConfigSnapshot previous, GlobalConfigSnapshot snapshot) {
+        if (previous == null || previous.equals(snapshot)) {
+            return;
+        }
+        for (Consumer<GlobalConfigSnapshot> subscriber : subscribers) {
+            try {
+                subscriber.accept(snapshot);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Configuration subscriber failed", e);
+            }
+        }
+    }
+}
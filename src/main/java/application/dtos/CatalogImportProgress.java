@@ -0,0 +1,40 @@
+package application.dtos;
+
+/**
+ * How far the import of a catalog file got. Everything up to {@code lastLine} is committed, so an
+ * interrupted import resumes after it.
+ *
+ * @param sourceId   the identity of the file contents
+ * @param sourceName the file name, for the report
+ * @param lastLine   the last line committed, 0 before the first chunk
+ * @param created    products created so far
+ * @param restocked  product entries restocked so far
+ * @param rejected   lines rejected so far
+ * @param completed  whether the whole file was imported
+ */
+public record CatalogImportProgress(
+    String sourceId,
+    String sourceName,
+    long lastLine,
+    int created,
+    int restocked,
+    int rejected,
+    boolean completed
+) {
+
+    public static CatalogImportProgress start(String sourceId, String sourceName) {
+        return new CatalogImportProgress(sourceId, sourceName, 0, 0, 0, 0, false);
+    }
+
+    /**
+     * Adds the outcome of one more chunk.
+     *
+     * @param chunk the counts of the chunk, with the last line it covered
+     * @return the progress after the chunk
+     */
+    public CatalogImportProgress plus(CatalogImportProgress chunk) {
+        return new CatalogImportProgress(sourceId, sourceName, Math.max(lastLine, chunk.lastLine()),
+            created + chunk.created(), restocked + chunk.restocked(), rejected + chunk.rejected(),
+            chunk.completed());
+    }
+}
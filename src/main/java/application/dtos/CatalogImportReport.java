@@ -0,0 +1,17 @@
+package application.dtos;
+
+import java.util.List;
+
+/**
+ * Outcome of a catalog import.
+ *
+ * @param progress   the totals of the whole file, including chunks committed by earlier attempts
+ * @param rejections every line that was not imported, in file order
+ * @param resumed    whether the import continued an interrupted one
+ */
+public record CatalogImportReport(
+    CatalogImportProgress progress,
+    List<CatalogRejection> rejections,
+    boolean resumed
+) {
+}
@@ -0,0 +1,15 @@
+package application.dtos;
+
+/**
+ * A catalog line that was not imported, and why.
+ *
+ * @param line    the line number in the file
+ * @param barcode the barcode found on the line, if any
+ * @param reason  the validation message
+ */
+public record CatalogRejection(
+    long line,
+    String barcode,
+    String reason
+) {
+}
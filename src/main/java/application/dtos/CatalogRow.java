@@ -0,0 +1,24 @@
+package application.dtos;
+
+/**
+ * One product line of a supplier catalog, as read from the file: every field is the raw text of its
+ * column, trimmed, or {@code null} when the column is empty.
+ *
+ * @param line        the line number in the file, starting at 1
+ * @param barcode     the product barcode
+ * @param name        the product name
+ * @param description the product description
+ * @param unitType    {@code UNIT} or {@code FRACTION}
+ * @param quantity    the quantity received
+ * @param cost        the unit replacement cost
+ */
+public record CatalogRow(
+    long line,
+    String barcode,
+    String name,
+    String description,
+    String unitType,
+    String quantity,
+    String cost
+) {
+}
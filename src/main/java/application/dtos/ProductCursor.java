@@ -0,0 +1,17 @@
+package application.dtos;
+
+import domain.stock.Product;
+
+/**
+ * Position in the product catalog ordered by name and id, used for keyset pagination.
+ * A page request returns the products that come strictly after this position.
+ */
+public record ProductCursor(
+    String name,
+    String id
+) {
+
+    public static ProductCursor after(Product product) {
+        return new ProductCursor(product.getName(), product.getId());
+    }
+}
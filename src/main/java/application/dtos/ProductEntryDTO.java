@@ -1,14 +1,15 @@
 package application.dtos;
 
+import domain.common.Money;
+import domain.common.Quantity;
 import domain.stock.UnitType;
-import java.math.BigDecimal;
 
 public record ProductEntryDTO(
     String name,
     String description,
     String barcode,
     UnitType unitType,
-    BigDecimal quantity,
-    BigDecimal cost
+    Quantity quantity,
+    Money cost
 ) {
 }
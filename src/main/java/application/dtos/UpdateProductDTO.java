@@ -1,14 +1,15 @@
 package application.dtos;
 
+import domain.common.Money;
 import domain.stock.UnitType;
-import java.math.BigDecimal;
 
 public record UpdateProductDTO(
     String id,
+    Long version,
     String name,
     String description,
     String barcode,
     UnitType unitType,
-    BigDecimal cost
+    Money cost
 ) {
 }
@@ -0,0 +1,36 @@
+package application.interfaces;
+
+import application.dtos.CatalogImportProgress;
+import application.dtos.CatalogRejection;
+import java.util.List;
+
+/**
+ * Contract for the record of catalog imports: how far each file got and which lines were rejected.
+ */
+public interface CatalogImportJournal {
+
+    /**
+     * Returns the progress of a catalog, registering it when it was never imported.
+     *
+     * @param source the catalog about to be imported
+     * @return the recorded progress, or a fresh one
+     */
+    CatalogImportProgress start(CatalogSource source);
+
+    /**
+     * Records the progress after a chunk and the lines it rejected. Called inside the unit of work that
+     * writes the chunk, so the progress never gets ahead of the data.
+     *
+     * @param progress   the progress including the chunk
+     * @param rejections the lines of the chunk that were not imported
+     */
+    void record(CatalogImportProgress progress, List<CatalogRejection> rejections);
+
+    /**
+     * Lists every line rejected while importing a catalog, over all its attempts.
+     *
+     * @param sourceId the catalog identity
+     * @return the rejections in file order
+     */
+    List<CatalogRejection> rejections(String sourceId);
+}
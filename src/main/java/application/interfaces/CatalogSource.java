@@ -0,0 +1,29 @@
+package application.interfaces;
+
+import application.dtos.CatalogRow;
+import java.util.stream.Stream;
+
+/**
+ * A supplier catalog to import, read lazily so that its size does not matter.
+ */
+public interface CatalogSource {
+
+    /**
+     * Identifies the contents of the catalog: the same file imported twice, even renamed, has the same id.
+     *
+     * @return a stable identity of the contents
+     */
+    String id();
+
+    String name();
+
+    /**
+     * Reads the product lines in file order. The stream holds the file open and must be closed
+     * (try-with-resources). The header, if the format has one, is read and checked right away, before the
+     * stream is returned.
+     *
+     * @return the rows, header and blank lines excluded
+     * @throws domain.common.DomainException if the header does not name the columns needed to import
+     */
+    Stream<CatalogRow> rows();
+}
@@ -13,4 +13,13 @@ public interface GlobalConfigRepository {
      * @return an Optional containing the config if initialized
      */
     Optional<GlobalConfig> find();
+
+    /**
+     * Retrieves the configuration in effect: the stored one, or the defaults if it was never saved.
+     *
+     * @return the current configuration
+     */
+    default GlobalConfig findOrDefault() {
+        return find().orElseGet(GlobalConfig::defaults);
+    }
 }
@@ -1,9 +1,13 @@
 package application.interfaces;
 
+import application.dtos.ProductCursor;
+import domain.common.Margin;
 import domain.stock.Barcode;
 import domain.stock.Product;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProductRepository {
 
@@ -13,5 +17,75 @@ public interface ProductRepository {
 
     Optional<Product> findByBarcode(Barcode barcode);
 
+    /**
+     * Loads several products by id at once. Storages that can fetch them in one round trip should.
+     *
+     * @param ids the ids of the products to load
+     * @return the products found, in no particular order; unknown ids are skipped
+     */
+    default List<Product> findAllById(Collection<String> ids) {
+        return ids.stream()
+            .map(this::findById)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
+    /**
+     * Loads the products having any of the given barcodes. Storages that can look them up in a few
+     * round trips should, rather than one per barcode.
+     *
+     * @param barcodes the barcodes to look up
+     * @return the products found, in no particular order; unknown barcodes are skipped
+     */
+    default List<Product> findAllByBarcode(Collection<Barcode> barcodes) {
+        return barcodes.stream()
+            .map(this::findByBarcode)
+            .flatMap(Optional::stream)
+            .toList();
+    }
+
     List<Product> findAll();
+
+    /**
+     * Prices every product at the given margin. Storages that can update all the prices in one statement
+     * should, rather than loading and saving each product.
+     *
+     * @param margin the margin to price with
+     * @return the number of products repriced
+     */
+    default int repriceAll(Margin margin) {
+        List<Product> products = findAll();
+        products.forEach(product -> {
+            product.priceWith(margin);
+            save(product);
+        });
+        return products.size();
+    }
+
+    /**
+     * Returns one page of the catalog ordered by name and id (keyset pagination).
+     *
+     * @param after the position of the last product already seen, or {@code null} for the first page
+     * @param limit the maximum number of products to return
+     * @return the products that follow {@code after}, at most {@code limit} of them
+     */
+    List<Product> findPage(ProductCursor after, int limit);
+
+    /**
+     * Streams the whole catalog ordered by name and id without loading it into memory at once.
+     * The stream holds a database connection and must be closed (try-with-resources).
+     *
+     * @return a lazily fetched stream of detached products
+     */
+    Stream<Product> streamAll();
+
+    /**
+     * Finds products whose name, description or barcode contain words starting with every term
+     * of the given text, best matches first.
+     *
+     * @param text  free text as typed by the user
+     * @param limit the maximum number of products to return
+     * @return the matching products, or an empty list for blank text
+     */
+    List<Product> search(String text, int limit);
 }
@@ -0,0 +1,14 @@
+package application.interfaces;
+
+import domain.salesbox.Sale;
+import java.util.Optional;
+
+/**
+ * Contract for the record of completed sales. Sales are inserted once and never changed.
+ */
+public interface SaleRepository {
+
+    Sale save(Sale sale);
+
+    Optional<Sale> findById(String id);
+}
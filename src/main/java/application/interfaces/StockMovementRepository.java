@@ -0,0 +1,17 @@
+package application.interfaces;
+
+import domain.stock.StockMovement;
+import java.util.List;
+
+/**
+ * Contract for the append-only stock ledger.
+ */
+public interface StockMovementRepository {
+
+    /**
+     * Appends movements to the ledger. Entries are never updated or removed afterwards.
+     *
+     * @param movements the movements to record, in the order they happened
+     */
+    void append(List<StockMovement> movements);
+}
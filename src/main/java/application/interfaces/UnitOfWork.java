@@ -0,0 +1,42 @@
+package application.interfaces;
+
+import java.util.function.Supplier;
+
+/**
+ * Contract for running a use case as a single unit of work.
+ * Every repository call made while the work runs shares one persistence session and one commit;
+ * if the work throws, nothing of it is persisted.
+ */
+public interface UnitOfWork {
+
+    /**
+     * Runs the given work inside a transaction, joining the current one if already active.
+     *
+     * @param work the use case body
+     * @param <T>  the result type
+     * @return the value produced by the work
+     */
+    <T> T execute(Supplier<T> work);
+
+    default void run(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns a unit of work that just runs the work, for storages without transactions
+     * (in-memory repositories, tests).
+     *
+     * @return a pass-through unit of work
+     */
+    static UnitOfWork direct() {
+        return new UnitOfWork() {
+            @Override
+            public <T> T execute(Supplier<T> work) {
+                return work.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package application.usecases;
+
+import application.interfaces.ProductRepository;
+import application.interfaces.SaleRepository;
+import application.interfaces.StockMovementRepository;
+import application.interfaces.UnitOfWork;
+import domain.common.DomainException;
+import domain.salesbox.Basket;
+import domain.salesbox.BasketLine;
+import domain.salesbox.Sale;
+import domain.salesbox.StockReservations;
+import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.users.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CompleteSale {
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final SaleRepository saleRepository;
+    private final UnitOfWork unitOfWork;
+    private final StockReservations reservations;
+
+    /**
+     * Creates the use case on the reservations the tills scan into.
+     *
+     * @param productRepository       the products sold
+     * @param stockMovementRepository the stock ledger
+     * @param saleRepository          where sales are recorded
+     * @param reservations            the reservations shared with {@link ScanProduct}, released on tender
+     */
+    public CompleteSale(ProductRepository productRepository,
+                        StockMovementRepository stockMovementRepository,
+                        SaleRepository saleRepository,
+                        StockReservations reservations) {
+        this(productRepository, stockMovementRepository, saleRepository, UnitOfWork.direct(), reservations);
+    }
+
+    public CompleteSale(ProductRepository productRepository,
+                        StockMovementRepository stockMovementRepository,
+                        SaleRepository saleRepository,
+                        UnitOfWork unitOfWork,
+                        StockReservations reservations) {
+        this.productRepository = productRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.saleRepository = saleRepository;
+        this.unitOfWork = unitOfWork;
+        this.reservations = reservations;
+    }
+
+    /**
+     * Executes the tender of a basket.
+     * <p>
+     * Loads every product of the basket in one go, takes the sold quantities out of their stock, appends
+     * all the resulting movements to the stock ledger in one batch and records the sale. Everything runs
+     * in a single unit of work: if any product is missing or short of stock, nothing is persisted.
+     * Once committed, the stock the basket reserved at scan time is released.
+     * </p>
+     *
+     * @param actor  the cashier at the till, recorded on the sale and the stock movements
+     * @param basket the basket being paid
+     * @return the recorded sale
+     * @throws DomainException if the basket is empty, a product no longer exists or its stock is insufficient
+     */
+    public Sale execute(User actor, Basket basket) {
+        Sale sale = basket.checkout(actor);
+        List<BasketLine> lines = basket.getLines();
+
+        Sale completed = unitOfWork.execute(() -> {
+            Map<String, Product> products = productRepository
+                .findAllById(lines.stream().map(BasketLine::productId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+            List<StockMovement> movements = new ArrayList<>();
+            for (BasketLine line : lines) {
+                Product product = products.get(line.productId());
+                if (product == null) {
+                    throw new DomainException("Product not found: " + line.description());
+                }
+                product.reduceStock(line.quantity());
+                movements.addAll(StockMovement.takeFrom(productRepository.save(product), actor));
+            }
+
+            stockMovementRepository.append(movements);
+            return saleRepository.save(sale);
+        });
+        reservations.releaseAll(basket);
+        return completed;
+    }
+}
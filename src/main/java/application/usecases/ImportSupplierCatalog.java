@@ -0,0 +1,251 @@
+package application.usecases;
+
+import application.configuration.GlobalConfigProvider;
+import application.dtos.CatalogImportProgress;
+import application.dtos.CatalogImportReport;
+import application.dtos.CatalogRejection;
+import application.dtos.CatalogRow;
+import application.dtos.ProductEntryDTO;
+import application.interfaces.CatalogImportJournal;
+import application.interfaces.CatalogSource;
+import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
+import application.interfaces.UnitOfWork;
+import domain.common.DomainException;
+import domain.common.Margin;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.stock.UnitType;
+import domain.users.User;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ImportSupplierCatalog {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final GlobalConfigProvider configProvider;
+    private final CatalogImportJournal journal;
+    private final UnitOfWork unitOfWork;
+
+    public ImportSupplierCatalog(ProductRepository productRepository,
+                                 StockMovementRepository stockMovementRepository,
+                                 GlobalConfigProvider configProvider,
+                                 CatalogImportJournal journal,
+                                 UnitOfWork unitOfWork) {
+        this.productRepository = productRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.configProvider = configProvider;
+        this.journal = journal;
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Imports a supplier catalog: every line is a product entry, restocking the product with that barcode
+     * or creating it, exactly like {@link RegisterProductEntry} does for one entry.
+     * <p>
+     * The file is streamed and applied in chunks, each in its own unit of work: the lines of a chunk are
+     * parsed and validated in parallel, the barcodes of the whole chunk are looked up at once, and the
+     * products and stock movements are written together with the import progress. A line that fails
+     * validation is rejected on its own and reported with its line number; it does not stop the import.
+     * If the import is interrupted, running it again on the same file resumes after the last committed
+     * chunk. The catalog is opened, and its header checked, before the import is recorded in the journal,
+     * so a file that cannot be read leaves no trace there.
+     * </p>
+     *
+     * @param actor  the user performing the import, recorded on the stock movements
+     * @param source the catalog to import
+     * @return the totals and the rejected lines of the whole file
+     * @throws DomainException if the catalog was already imported completely or its header is not understood
+     */
+    public CatalogImportReport execute(User actor, CatalogSource source) {
+        return execute(actor, source, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Imports a supplier catalog as {@link #execute(User, CatalogSource)} does, committing every
+     * {@code chunkSize} lines.
+     *
+     * @param actor     the user performing the import, recorded on the stock movements
+     * @param source    the catalog to import
+     * @param chunkSize the number of lines written per unit of work
+     * @return the totals and the rejected lines of the whole file
+     * @throws DomainException if the catalog was already imported completely or its header is not understood
+     */
+    public CatalogImportReport execute(User actor, CatalogSource source, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        try (Stream<CatalogRow> rows = source.rows()) {
+            CatalogImportProgress recorded = journal.start(source);
+            if (recorded.completed()) {
+                throw new DomainException("Catalog " + source.name() + " was already imported.");
+            }
+
+            CatalogImportProgress progress = recorded;
+            long resumeAfter = recorded.lastLine();
+            Iterator<CatalogRow> pending = rows.filter(row -> row.line() > resumeAfter).iterator();
+            List<CatalogRow> chunk = new ArrayList<>(chunkSize);
+            while (pending.hasNext()) {
+                chunk.add(pending.next());
+                if (chunk.size() == chunkSize && pending.hasNext()) {
+                    progress = importChunk(actor, progress, chunk, false);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            progress = importChunk(actor, progress, chunk, true);
+            return new CatalogImportReport(progress, journal.rejections(source.id()), recorded.lastLine() > 0);
+        }
+    }
+
+    private CatalogImportProgress importChunk(User actor, CatalogImportProgress progress, List<CatalogRow> chunk,
+        boolean last) {
+        List<ValidatedRow> rows = chunk.parallelStream().map(ImportSupplierCatalog::validate).toList();
+        long lastLine = chunk.isEmpty() ? progress.lastLine() : chunk.get(chunk.size() - 1).line();
+
+        return unitOfWork.execute(() -> {
+            ChunkWriter writer = new ChunkWriter(findExisting(rows), configProvider.current().profitMargin());
+            rows.forEach(writer::apply);
+
+            List<StockMovement> movements = new ArrayList<>();
+            for (Product product : writer.touched.values()) {
+                productRepository.save(product);
+                movements.addAll(StockMovement.takeFrom(product, actor));
+            }
+            stockMovementRepository.append(movements);
+
+            CatalogImportProgress next = progress.plus(new CatalogImportProgress(progress.sourceId(),
+                progress.sourceName(), lastLine, writer.created, writer.restocked, writer.rejections.size(), last));
+            journal.record(next, writer.rejections);
+            return next;
+        });
+    }
+
+    private Map<Barcode, Product> findExisting(List<ValidatedRow> rows) {
+        List<Barcode> barcodes = rows.stream()
+            .map(ValidatedRow::barcode)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        if (barcodes.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return productRepository.findAllByBarcode(barcodes).stream()
+            .collect(Collectors.toMap(Product::getBarcode, Function.identity(), (first, second) -> first,
+                LinkedHashMap::new));
+    }
+
+    private static ValidatedRow validate(CatalogRow row) {
+        try {
+            ProductEntryDTO entry = new ProductEntryDTO(row.name(), row.description(), row.barcode(),
+                unitTypeOf(row.unitType()), parse(row.quantity(), "quantity", Quantity::parse),
+                parse(row.cost(), "cost", Money::parse));
+            ProductEntryRules.requireBarcode(entry);
+            return new ValidatedRow(row, new Barcode(entry.barcode()), entry, null, newProductProblem(entry));
+        } catch (DomainException e) {
+            return new ValidatedRow(row, null, null, e.getMessage(), null);
+        }
+    }
+
+    private static String newProductProblem(ProductEntryDTO entry) {
+        try {
+            ProductEntryRules.validateNewProduct(entry);
+            return null;
+        } catch (DomainException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static UnitType unitTypeOf(String text) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return UnitType.valueOf(text.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new DomainException("Unknown unit type: " + text);
+        }
+    }
+
+    private static <T> T parse(String text, String field, Function<String, T> parser) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return parser.apply(text);
+        } catch (NumberFormatException e) {
+            throw new DomainException("Invalid " + field + ": " + text);
+        }
+    }
+
+    /**
+     * Applies the validated lines of one chunk to the products, in file order, so a barcode appearing twice
+     * is created by its first line and restocked by the next ones.
+     */
+    private static final class ChunkWriter {
+        private final Map<Barcode, Product> products;
+        private final Margin margin;
+        private final Map<Barcode, Product> touched = new LinkedHashMap<>();
+        private final List<CatalogRejection> rejections = new ArrayList<>();
+        private int created;
+        private int restocked;
+
+        ChunkWriter(Map<Barcode, Product> existing, Margin margin) {
+            this.products = existing;
+            this.margin = margin;
+        }
+
+        void apply(ValidatedRow row) {
+            if (row.problem() != null) {
+                reject(row, row.problem());
+                return;
+            }
+            ProductEntryDTO entry = row.entry();
+            try {
+                Product product = products.get(row.barcode());
+                if (product != null) {
+                    product.restock(entry.quantity(), entry.cost());
+                    restocked++;
+                } else if (row.newProductProblem() != null) {
+                    reject(row, row.newProductProblem());
+                    return;
+                } else {
+                    product = new Product(entry.name(), row.barcode(), entry.unitType(), entry.quantity(),
+                        entry.cost());
+                    product.setDescription(entry.description());
+                    product.priceWith(margin);
+                    products.put(row.barcode(), product);
+                    created++;
+                }
+                touched.put(row.barcode(), product);
+            } catch (DomainException e) {
+                reject(row, e.getMessage());
+            }
+        }
+
+        private void reject(ValidatedRow row, String reason) {
+            rejections.add(new CatalogRejection(row.row().line(), row.row().barcode(), reason));
+        }
+    }
+
+    /**
+     * A catalog line after parsing: either an entry with its barcode, or the reason it cannot be applied.
+     * The new-product checks are run up front too, and only matter if the barcode turns out to be unknown.
+     */
+    private record ValidatedRow(CatalogRow row, Barcode barcode, ProductEntryDTO entry, String problem,
+                                String newProductProblem) {
+    }
+}
@@ -4,18 +4,45 @@ import application.interfaces.UserRepository;
 import application.session.SessionContext;
 import domain.common.DomainException;
 import domain.users.User;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 public class LoginUser {
 
     private final UserRepository userRepository;
     private final SessionContext sessionContext;
+    private final CompletionStage<?> storageReady;
 
     public LoginUser(UserRepository userRepository, SessionContext sessionContext) {
+        this(userRepository, sessionContext, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Creates the use case for a storage that may still be starting up.
+     *
+     * @param userRepository the user storage
+     * @param sessionContext where the logged-in user is kept
+     * @param storageReady   completes once the storage can be queried; logins wait for it
+     */
+    public LoginUser(UserRepository userRepository, SessionContext sessionContext, CompletionStage<?> storageReady) {
         this.userRepository = userRepository;
         this.sessionContext = sessionContext;
+        this.storageReady = storageReady;
     }
 
+    /**
+     * Executes the login, first waiting for the storage to finish starting if it has not yet.
+     *
+     * @param username the typed username
+     * @param password the typed password
+     * @return the logged-in user
+     * @throws DomainException if the credentials are invalid
+     */
     public User execute(String username, String password) {
+        awaitStorage();
+
         User user = userRepository.findByUsername(username)
             .orElseThrow(() -> new DomainException("Invalid credentials."));
 
@@ -27,4 +54,13 @@ public class LoginUser {
 
         return user;
     }
+
+    private void awaitStorage() {
+        try {
+            storageReady.toCompletableFuture().join();
+        } catch (CompletionException | CancellationException e) {
+            throw new RuntimeException("Failed to start the application storage",
+                e.getCause() != null ? e.getCause() : e);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package application.usecases;
+
+import application.dtos.ProductEntryDTO;
+import domain.common.DomainException;
+
+/**
+ * Checks a product entry must pass before it is applied, shared by the single entry and the catalog import.
+ */
+final class ProductEntryRules {
+
+    private ProductEntryRules() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static void requireBarcode(ProductEntryDTO request) {
+        if (request.barcode() == null || request.barcode().isBlank()) {
+            throw new DomainException("Barcode is required.");
+        }
+    }
+
+    /**
+     * Checks the data needed to create a product that does not exist yet.
+     *
+     * @param request the entry
+     * @throws DomainException naming the first missing field
+     */
+    static void validateNewProduct(ProductEntryDTO request) {
+        if (request.name() == null || request.name().isBlank()) {
+            throw new DomainException("Product name is required for new products.");
+        }
+        if (request.description() == null || request.description().isBlank()) {
+            throw new DomainException("Product description is required for new products.");
+        }
+        if (request.unitType() == null) {
+            throw new DomainException("Unit type is required.");
+        }
+        if (request.cost() == null) {
+            throw new DomainException("Cost is required.");
+        }
+        if (request.quantity() == null) {
+            throw new DomainException("Initial stock is required.");
+        }
+    }
+}
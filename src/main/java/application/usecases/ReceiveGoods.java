@@ -0,0 +1,120 @@
+package application.usecases;
+
+import application.configuration.GlobalConfigProvider;
+import application.dtos.ProductEntryDTO;
+import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
+import application.interfaces.UnitOfWork;
+import domain.common.DomainException;
+import domain.common.Margin;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.users.User;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class ReceiveGoods {
+
+    private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final GlobalConfigProvider configProvider;
+    private final UnitOfWork unitOfWork;
+
+    public ReceiveGoods(ProductRepository productRepository,
+                        StockMovementRepository stockMovementRepository,
+                        GlobalConfigProvider configProvider) {
+        this(productRepository, stockMovementRepository, configProvider, UnitOfWork.direct());
+    }
+
+    public ReceiveGoods(ProductRepository productRepository,
+                        StockMovementRepository stockMovementRepository,
+                        GlobalConfigProvider configProvider,
+                        UnitOfWork unitOfWork) {
+        this.productRepository = productRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.configProvider = configProvider;
+        this.unitOfWork = unitOfWork;
+    }
+
+    /**
+     * Receives a delivery note: every line restocks the product with its barcode, or creates it, exactly
+     * like {@link RegisterProductEntry} does for a single entry.
+     * <p>
+     * The barcodes of the whole note are looked up at once, every line is applied in order (a barcode
+     * listed twice is created by its first line and restocked by the next), and the products and their
+     * stock movements are written together in a single unit of work. The receipt is all or nothing: if
+     * any line breaks a business rule, nothing of the note is persisted and the error names the line.
+     * </p>
+     *
+     * @param actor the user receiving the goods, recorded on the stock movements
+     * @param lines the lines of the delivery note, in order
+     * @return the products received, as saved, one per distinct barcode
+     * @throws DomainException if the note is empty or a line is invalid
+     */
+    public List<Product> execute(User actor, List<ProductEntryDTO> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new DomainException("The delivery note has no lines.");
+        }
+        List<Barcode> barcodes = new ArrayList<>(lines.size());
+        for (int index = 0; index < lines.size(); index++) {
+            ProductEntryDTO line = lines.get(index);
+            try {
+                ProductEntryRules.requireBarcode(line);
+            } catch (DomainException e) {
+                throw lineError(index, line, e);
+            }
+            barcodes.add(new Barcode(line.barcode()));
+        }
+
+        return unitOfWork.execute(() -> {
+            Map<Barcode, Product> products = productRepository.findAllByBarcode(barcodes.stream().distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getBarcode, Function.identity(), (first, second) -> first));
+            Margin margin = configProvider.current().profitMargin();
+
+            Map<Barcode, Product> received = new LinkedHashMap<>();
+            for (int index = 0; index < lines.size(); index++) {
+                try {
+                    Product product = receive(products, barcodes.get(index), lines.get(index), margin);
+                    received.put(product.getBarcode(), product);
+                } catch (DomainException e) {
+                    throw lineError(index, lines.get(index), e);
+                }
+            }
+
+            List<StockMovement> movements = new ArrayList<>();
+            List<Product> saved = new ArrayList<>(received.size());
+            for (Product product : received.values()) {
+                saved.add(productRepository.save(product));
+                movements.addAll(StockMovement.takeFrom(product, actor));
+            }
+            stockMovementRepository.append(movements);
+            return saved;
+        });
+    }
+
+    private static Product receive(Map<Barcode, Product> products, Barcode barcode, ProductEntryDTO line,
+                                   Margin margin) {
+        Product product = products.get(barcode);
+        if (product != null) {
+            product.restock(line.quantity(), line.cost());
+            return product;
+        }
+        ProductEntryRules.validateNewProduct(line);
+        Product created = new Product(line.name(), barcode, line.unitType(), line.quantity(), line.cost());
+        created.setDescription(line.description());
+        created.priceWith(margin);
+        products.put(barcode, created);
+        return created;
+    }
+
+    private static DomainException lineError(int index, ProductEntryDTO line, DomainException cause) {
+        String barcode = line.barcode() == null || line.barcode().isBlank() ? "" : " (" + line.barcode() + ")";
+        return new DomainException("Line " + (index + 1) + barcode + ": " + cause.getMessage());
+    }
+}
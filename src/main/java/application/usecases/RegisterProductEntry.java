@@ -1,46 +1,75 @@
 package application.usecases;
 
+import application.configuration.GlobalConfigProvider;
 import application.dtos.ProductEntryDTO;
 import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
+import application.interfaces.UnitOfWork;
 import domain.common.DomainException;
 import domain.stock.Barcode;
 import domain.stock.Product;
+import domain.stock.StockMovement;
 import domain.users.User;
 import java.util.Optional;
 
 public class RegisterProductEntry {
 
     private final ProductRepository productRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final GlobalConfigProvider configProvider;
+    private final UnitOfWork unitOfWork;
 
-    public RegisterProductEntry(ProductRepository productRepository) {
+    public RegisterProductEntry(ProductRepository productRepository,
+                                StockMovementRepository stockMovementRepository,
+                                GlobalConfigProvider configProvider) {
+        this(productRepository, stockMovementRepository, configProvider, UnitOfWork.direct());
+    }
+
+    public RegisterProductEntry(ProductRepository productRepository,
+                                StockMovementRepository stockMovementRepository,
+                                GlobalConfigProvider configProvider,
+                                UnitOfWork unitOfWork) {
         this.productRepository = productRepository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.configProvider = configProvider;
+        this.unitOfWork = unitOfWork;
     }
 
     /**
      * Executes the product entry process (Upsert logic).
      * <p>
      * If the product exists (identified by barcode), it restocks the inventory and updates the replacement cost.
-     * If the product does not exist, it validates the mandatory data and creates a new product record.
+     * If the product does not exist, it validates the mandatory data and creates a new product record, priced
+     * at the current default profit margin.
+     * The stock received is appended to the stock ledger on behalf of the actor. The lookup and
+     * both writes run in a single unit of work.
      * </p>
      *
-     * @param actor   the user performing the action (used for auditing/permissions context)
+     * @param actor   the user performing the action, recorded on the stock movement
      * @param request the DTO containing product details (barcode, cost, quantity, etc.)
+     * @return the created or restocked product, as saved
      * @throws DomainException if the barcode is missing or if creating a new product with incomplete data
      */
-    public void execute(User actor, ProductEntryDTO request) {
-        if (request.barcode() == null || request.barcode().isBlank()) {
-            throw new DomainException("Barcode is required.");
-        }
+    public Product execute(User actor, ProductEntryDTO request) {
+        ProductEntryRules.requireBarcode(request);
 
         Barcode barcode = new Barcode(request.barcode());
+        return unitOfWork.execute(() -> {
+            Product saved = registerEntry(barcode, request);
+            stockMovementRepository.append(StockMovement.takeFrom(saved, actor));
+            return saved;
+        });
+    }
+
+    private Product registerEntry(Barcode barcode, ProductEntryDTO request) {
         Optional<Product> existingProduct = productRepository.findByBarcode(barcode);
 
         if (existingProduct.isPresent()) {
             Product product = existingProduct.get();
             product.restock(request.quantity(), request.cost());
-            productRepository.save(product);
+            return productRepository.save(product);
         } else {
-            validateNewProductData(request);
+            ProductEntryRules.validateNewProduct(request);
 
             Product newProduct = new Product(
                 request.name(),
@@ -51,26 +80,9 @@ public class RegisterProductEntry {
             );
 
             newProduct.setDescription(request.description());
+            newProduct.priceWith(configProvider.current().profitMargin());
 
-            productRepository.save(newProduct);
-        }
-    }
-
-    private void validateNewProductData(ProductEntryDTO request) {
-        if (request.name() == null || request.name().isBlank()) {
-            throw new DomainException("Product name is required for new products.");
-        }
-        if (request.description() == null || request.description().isBlank()) {
-            throw new DomainException("Product description is required for new products.");
-        }
-        if (request.unitType() == null) {
-            throw new DomainException("Unit type is required.");
-        }
-        if (request.cost() == null) {
-            throw new DomainException("Cost is required.");
-        }
-        if (request.quantity() == null) {
-            throw new DomainException("Initial stock is required.");
+            return productRepository.save(newProduct);
         }
     }
 }
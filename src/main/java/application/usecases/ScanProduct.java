@@ -0,0 +1,65 @@
+package application.usecases;
+
+import application.interfaces.ProductRepository;
+import domain.common.DomainException;
+import domain.common.Quantity;
+import domain.salesbox.Basket;
+import domain.salesbox.BasketLine;
+import domain.salesbox.StockReservations;
+import domain.stock.Barcode;
+import domain.stock.Product;
+
+public class ScanProduct {
+
+    private final ProductRepository productRepository;
+    private final StockReservations reservations;
+
+    public ScanProduct(ProductRepository productRepository, StockReservations reservations) {
+        this.productRepository = productRepository;
+        this.reservations = reservations;
+    }
+
+    /**
+     * Executes a scan at the till.
+     * The product is looked up outside any transaction (from the product cache when there is one) and the
+     * quantity is reserved before it goes into the basket, so other tills see it as taken right away.
+     *
+     * @param basket   the open basket
+     * @param barcode  the scanned barcode
+     * @param quantity one for a single unit, or the weight for products sold by the kilo
+     * @return the basket line of the product after the scan
+     * @throws DomainException if the product does not exist or there is not enough stock left to reserve
+     */
+    public BasketLine execute(Basket basket, String barcode, Quantity quantity) {
+        Product product = productRepository.findByBarcode(new Barcode(barcode))
+            .orElseThrow(() -> new DomainException("Product not found."));
+
+        reservations.reserve(product, quantity);
+        try {
+            return basket.scan(product, quantity);
+        } catch (DomainException e) {
+            reservations.release(product.getId(), quantity);
+            throw e;
+        }
+    }
+
+    /**
+     * Takes a product out of the basket and gives its reservation back.
+     *
+     * @param basket  the open basket
+     * @param barcode the barcode of the line to drop
+     */
+    public void remove(Basket basket, String barcode) {
+        basket.remove(new Barcode(barcode)).ifPresent(reservations::release);
+    }
+
+    /**
+     * Drops the whole basket, giving back everything it reserved.
+     *
+     * @param basket the basket the customer left behind
+     */
+    public void abandon(Basket basket) {
+        reservations.releaseAll(basket);
+        basket.getLines().forEach(line -> basket.remove(line.barcode()));
+    }
+}
@@ -1,31 +1,66 @@
 package application.usecases;
 
+import application.configuration.GlobalConfigProvider;
 import application.interfaces.GlobalConfigRepository;
+import application.interfaces.ProductRepository;
+import application.interfaces.UnitOfWork;
 import domain.common.DomainException;
+import domain.common.Margin;
 import domain.configuration.GlobalConfig;
+import domain.configuration.GlobalConfigSnapshot;
 import domain.users.User;
 import java.math.BigDecimal;
 
 public class UpdateGlobalConfig {
 
-    private static final BigDecimal DEFAULT_PROFIT_MARGIN = new BigDecimal("0.50");
-
     private final GlobalConfigRepository repository;
+    private final ProductRepository productRepository;
+    private final GlobalConfigProvider configProvider;
+    private final UnitOfWork unitOfWork;
+
+    public UpdateGlobalConfig(GlobalConfigRepository repository,
+                              ProductRepository productRepository,
+                              GlobalConfigProvider configProvider) {
+        this(repository, productRepository, configProvider, UnitOfWork.direct());
+    }
 
-    public UpdateGlobalConfig(GlobalConfigRepository repository) {
+    public UpdateGlobalConfig(GlobalConfigRepository repository,
+                              ProductRepository productRepository,
+                              GlobalConfigProvider configProvider,
+                              UnitOfWork unitOfWork) {
         this.repository = repository;
+        this.productRepository = productRepository;
+        this.configProvider = configProvider;
+        this.unitOfWork = unitOfWork;
     }
 
+    /**
+     * Changes the default profit margin and, when it actually changes, reprices every product at the new
+     * margin in the same unit of work, so no product is ever sold at a price from the old margin once the
+     * change is committed. The new configuration is then published to the {@link GlobalConfigProvider}, which
+     * tells its subscribers.
+     *
+     * @param actor     the user making the change, who must be an administrator
+     * @param newMargin the new margin as a fraction, {@code 0.50} being 50%
+     * @throws DomainException if the actor is not an administrator or the margin is invalid
+     */
     public void execute(User actor, BigDecimal newMargin) {
         if (!actor.isAdmin()) {
             throw new DomainException("Access Denied: Only ADMIN can modify global configuration.");
         }
 
-        GlobalConfig config = repository.find()
-            .orElse(new GlobalConfig(DEFAULT_PROFIT_MARGIN));
+        GlobalConfigSnapshot updated = unitOfWork.execute(() -> {
+            GlobalConfig config = repository.findOrDefault();
+            Margin previous = config.getMargin();
 
-        config.updateProfitMargin(newMargin);
+            config.updateProfitMargin(newMargin);
+            repository.save(config);
 
-        repository.save(config);
+            if (!config.getMargin().equals(previous)) {
+                productRepository.repriceAll(config.getMargin());
+            }
+            return config.snapshot();
+        });
+        configProvider.publish(updated);
     }
 }
@@ -2,6 +2,8 @@ package application.usecases;
 
 import application.dtos.UpdateProductDTO;
 import application.interfaces.ProductRepository;
+import application.interfaces.UnitOfWork;
+import domain.common.ConcurrentUpdateException;
 import domain.common.DomainException;
 import domain.stock.Barcode;
 import domain.stock.Product;
@@ -11,21 +13,35 @@ import java.util.Optional;
 public class UpdateProductDetails {
 
     private final ProductRepository repository;
+    private final UnitOfWork unitOfWork;
 
     public UpdateProductDetails(ProductRepository repository) {
+        this(repository, UnitOfWork.direct());
+    }
+
+    public UpdateProductDetails(ProductRepository repository, UnitOfWork unitOfWork) {
         this.repository = repository;
+        this.unitOfWork = unitOfWork;
     }
 
     /**
      * Executes the product update process.
+     * The lookup, the barcode collision check and the write run in a single unit of work.
      *
      * @param actor   the user performing the action (used for auditing/permissions context)
      * @param request the DTO containing product details (barcode, cost, quantity, etc.)
+     * @return the updated product, as saved
      * @throws DomainException if the uuid is missing
+     * @throws ConcurrentUpdateException if the product was saved after the version given in the request
      */
-    public void execute(User actor, UpdateProductDTO request) {
+    public Product execute(User actor, UpdateProductDTO request) {
+        return unitOfWork.execute(() -> applyUpdate(request));
+    }
+
+    private Product applyUpdate(UpdateProductDTO request) {
         Product product = repository.findById(request.id())
             .orElseThrow(() -> new DomainException("Product not found."));
+        product.ensureVersion(request.version());
 
         Barcode newBarcode = new Barcode(request.barcode());
 
@@ -44,6 +60,6 @@ public class UpdateProductDetails {
             request.cost()
         );
 
-        repository.save(product);
+        return repository.save(product);
     }
 }
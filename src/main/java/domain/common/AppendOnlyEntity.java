@@ -0,0 +1,77 @@
+package domain.common;
+
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Base class for the entities that are only ever inserted and that grow with every sale: the stock ledger
+ * and the sales themselves.
+ * Same identity and audit contract as {@link BaseEntity}, but the id is stored as a 16-byte BLOB instead of
+ * its 36-character text, so the primary key and every index or foreign key repeating it are less than half
+ * the size. {@link #getId()} still returns the usual text form.
+ */
+@MappedSuperclass
+public abstract class AppendOnlyEntity {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.BINARY)
+    private UUID id;
+
+    private LocalDateTime createdAt;
+
+    /**
+     * Default constructor.
+     * Assigns the entity a new identifier from the configured {@link IdGenerator}.
+     */
+    protected AppendOnlyEntity() {
+        this.id = UUID.fromString(Ids.next());
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id.toString();
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Checks if this entity is equal to another object.
+     * Equality is based strictly on the unique ID.
+     *
+     * @param o the object to compare with
+     * @return true if both objects are of the same class and have the same ID
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        AppendOnlyEntity that = (AppendOnlyEntity) o;
+        return Objects.equals(id, that.id);
+    }
+
+    /**
+     * Generates a hash code based on the unique ID.
+     *
+     * @return the hash code of the ID
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -5,11 +5,10 @@ import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Base class for all domain entities.
- * Provides a unique identifier (UUID), audit timestamp, and equality contract.
+ * Provides a unique identifier (a time-ordered UUID, see {@link Ids}), audit timestamp, and equality contract.
  */
 @MappedSuperclass
 public abstract class BaseEntity {
@@ -21,10 +20,22 @@ public abstract class BaseEntity {
 
     /**
      * Default constructor.
-     * Generates a new random UUID for the entity.
+     * Assigns the entity a new identifier from the configured {@link IdGenerator}.
      */
     public BaseEntity() {
-        this.id = UUID.randomUUID().toString();
+        this.id = Ids.next();
+    }
+
+    /**
+     * Rebuilds an entity that already exists, keeping its identity and audit timestamp.
+     *
+     * @param id        the existing identifier
+     * @param createdAt the original creation timestamp
+     */
+    protected BaseEntity(String id, LocalDateTime createdAt) {
+        Guard.againstNullOrEmpty(id, "Id");
+        this.id = id;
+        this.createdAt = createdAt;
     }
 
     @PrePersist
@@ -0,0 +1,17 @@
+package domain.common;
+
+/**
+ * Raised when an entity was changed by someone else between the moment it was read and the moment
+ * the change to it is saved. Retrying after reloading the entity is safe.
+ */
+public class ConcurrentUpdateException extends DomainException {
+
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message);
+        initCause(cause);
+    }
+}
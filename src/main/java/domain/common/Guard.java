@@ -38,14 +38,32 @@ public final class Guard {
         }
     }
 
-    public static void againstZeroOrNegative(BigDecimal value, String fieldName) {
-        if (value == null || value.compareTo(BigDecimal.ZERO) <= 0) {
+    public static void againstNegative(Quantity value, String fieldName) {
+        if (value == null || value.thousandths() < 0) {
+            throw new DomainException(fieldName + " cannot be negative.");
+        }
+    }
+
+    public static void againstNegative(Money value, String fieldName) {
+        if (value == null || value.cents() < 0) {
+            throw new DomainException(fieldName + " cannot be negative.");
+        }
+    }
+
+    public static void againstZeroOrNegative(Quantity value, String fieldName) {
+        if (value == null || value.thousandths() <= 0) {
+            throw new DomainException(fieldName + " must be greater than zero.");
+        }
+    }
+
+    public static void againstZeroOrNegative(Money value, String fieldName) {
+        if (value == null || value.cents() <= 0) {
             throw new DomainException(fieldName + " must be greater than zero.");
         }
     }
 
-    public static void againstFractional(BigDecimal value, String fieldName) {
-        if (value != null && value.remainder(BigDecimal.ONE).compareTo(BigDecimal.ZERO) != 0) {
+    public static void againstFractional(Quantity value, String fieldName) {
+        if (value != null && !value.isWhole()) {
             throw new DomainException(fieldName + " must be a whole number.");
         }
     }
@@ -0,0 +1,36 @@
+package domain.common;
+
+import java.util.UUID;
+
+/**
+ * Strategy producing the identifiers of new entities.
+ * The generator in use is selected through {@link Ids}.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    /**
+     * Produces a new identifier, never returned before by this generator.
+     *
+     * @return the identifier
+     */
+    String nextId();
+
+    /**
+     * Time-ordered UUIDv7 identifiers, the default.
+     *
+     * @return a new generator
+     */
+    static IdGenerator timeOrdered() {
+        return new TimeOrderedIdGenerator();
+    }
+
+    /**
+     * Random UUIDv4 identifiers, as entities were given before time-ordered ids.
+     *
+     * @return the generator
+     */
+    static IdGenerator random() {
+        return () -> UUID.randomUUID().toString();
+    }
+}
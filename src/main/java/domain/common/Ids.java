@@ -0,0 +1,28 @@
+package domain.common;
+
+/**
+ * Holds the {@link IdGenerator} used by {@link BaseEntity} and {@link AppendOnlyEntity} for new entities.
+ * Time-ordered ids are used unless another generator is installed at startup.
+ */
+public final class Ids {
+
+    private static volatile IdGenerator generator = IdGenerator.timeOrdered();
+
+    private Ids() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static String next() {
+        return generator.nextId();
+    }
+
+    /**
+     * Replaces the generator for the entities created from now on.
+     *
+     * @param idGenerator the generator to use
+     */
+    public static void use(IdGenerator idGenerator) {
+        Guard.againstNull(idGenerator, "Id generator");
+        generator = idGenerator;
+    }
+}
@@ -0,0 +1,62 @@
+package domain.common;
+
+import java.math.BigDecimal;
+
+/**
+ * Profit margin applied to a cost to get a sale price, held as a whole number of basis points
+ * (hundredths of a percent), so {@code 0.35} is 3500.
+ * <p>
+ * Pricing works on the scaled {@code long}: a price is computed with integer arithmetic only, which lets
+ * the database reprice every product with the very same formula in a single statement.
+ * </p>
+ *
+ * @param basisPoints the margin multiplied by {@value #ONE}
+ */
+public record Margin(long basisPoints) {
+
+    public static final long ONE = 10_000;
+    public static final int SCALE = 4;
+
+    public Margin {
+        if (basisPoints < 0) {
+            throw new DomainException("Margin cannot be negative.");
+        }
+    }
+
+    /**
+     * Converts a margin given as a fraction, rejecting more precision than a basis point.
+     *
+     * @param fraction the margin, {@code 0.50} being 50%
+     * @return the equivalent margin
+     * @throws DomainException if the value is null, negative or has more than {@value #SCALE} decimals
+     */
+    public static Margin of(BigDecimal fraction) {
+        Guard.againstNull(fraction, "Margin");
+        try {
+            return new Margin(fraction.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new DomainException("Margin supports up to " + SCALE + " decimals: " + fraction);
+        }
+    }
+
+    /**
+     * Price of the given cost at this margin, {@code cost * (1 + margin)} rounded half up to the cent.
+     *
+     * @param cost the replacement cost, not negative
+     * @return the sale price
+     */
+    public Money applyTo(Money cost) {
+        long scaled = Math.multiplyExact(cost.cents(), Math.addExact(ONE, basisPoints));
+        long half = Long.signum(scaled) * (ONE / 2);
+        return new Money((scaled + half) / ONE);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(basisPoints, SCALE);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,93 @@
+package domain.common;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point amount of money, held as a whole number of cents.
+ * Arithmetic and checks work on the scaled {@code long} and never create intermediate numbers.
+ *
+ * @param cents the amount multiplied by {@value #ONE}
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final long ONE = 100;
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Converts a decimal amount, rejecting fractions of a cent.
+     *
+     * @param value the amount, e.g. {@code 1500.50}
+     * @return the equivalent money
+     * @throws DomainException if the value is null or has more than {@value #SCALE} decimals
+     */
+    public static Money of(BigDecimal value) {
+        Guard.againstNull(value, "Amount");
+        try {
+            return new Money(value.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new DomainException("Amount supports up to " + SCALE + " decimals: " + value);
+        }
+    }
+
+    /**
+     * Reads an amount typed by a user, accepting either a dot or a comma as decimal separator.
+     *
+     * @param text the typed amount
+     * @return the parsed money
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static Money parse(String text) {
+        return of(new BigDecimal(text.trim().replace(',', '.')));
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(cents, other.cents));
+    }
+
+    /**
+     * Price of the given quantity at this unit price, rounded half up to the cent.
+     *
+     * @param quantity the quantity bought, e.g. {@code 0.350} kilos
+     * @return this amount times the quantity
+     */
+    public Money times(Quantity quantity) {
+        long scaled = Math.multiplyExact(cents, quantity.thousandths());
+        long half = Long.signum(scaled) * (Quantity.ONE / 2);
+        return new Money((scaled + half) / Quantity.ONE);
+    }
+
+    /**
+     * Applies a profit margin to this cost, rounded half up to the cent.
+     *
+     * @param margin the margin as a fraction, {@code 0.50} being 50%
+     * @return the cost plus the margin
+     * @throws DomainException if the margin is negative or finer than a basis point
+     * @see Margin#applyTo(Money)
+     */
+    public Money markedUp(BigDecimal margin) {
+        return Margin.of(margin).applyTo(this);
+    }
+
+    public int signum() {
+        return Long.signum(cents);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,85 @@
+package domain.common;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point stock quantity, held as a whole number of thousandths.
+ * <p>
+ * For products sold by the kilo one thousandth is a gram; for products sold by unit the value is
+ * always a multiple of {@value #ONE}. Arithmetic and checks work on the scaled {@code long}, so
+ * they never create intermediate numbers the way {@link BigDecimal} does.
+ * </p>
+ *
+ * @param thousandths the quantity multiplied by {@value #ONE}
+ */
+public record Quantity(long thousandths) implements Comparable<Quantity> {
+
+    public static final long ONE = 1000;
+    public static final int SCALE = 3;
+    public static final Quantity ZERO = new Quantity(0);
+
+    /**
+     * Converts a decimal amount, rejecting more precision than a thousandth.
+     *
+     * @param value the amount, e.g. {@code 1.25} for one and a quarter kilos
+     * @return the equivalent quantity
+     * @throws DomainException if the value is null or has more than {@value #SCALE} decimals
+     */
+    public static Quantity of(BigDecimal value) {
+        Guard.againstNull(value, "Quantity");
+        try {
+            return new Quantity(value.movePointRight(SCALE).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new DomainException("Quantity supports up to " + SCALE + " decimals: " + value);
+        }
+    }
+
+    public static Quantity ofUnits(long units) {
+        return new Quantity(Math.multiplyExact(units, ONE));
+    }
+
+    /**
+     * Reads a quantity typed by a user, accepting either a dot or a comma as decimal separator.
+     *
+     * @param text the typed amount
+     * @return the parsed quantity
+     * @throws NumberFormatException if the text is not a number
+     */
+    public static Quantity parse(String text) {
+        return of(new BigDecimal(text.trim().replace(',', '.')));
+    }
+
+    public Quantity plus(Quantity other) {
+        return new Quantity(Math.addExact(thousandths, other.thousandths));
+    }
+
+    public Quantity minus(Quantity other) {
+        return new Quantity(Math.subtractExact(thousandths, other.thousandths));
+    }
+
+    public Quantity negate() {
+        return new Quantity(Math.negateExact(thousandths));
+    }
+
+    public boolean isWhole() {
+        return thousandths % ONE == 0;
+    }
+
+    public int signum() {
+        return Long.signum(thousandths);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(thousandths, SCALE);
+    }
+
+    @Override
+    public int compareTo(Quantity other) {
+        return Long.compare(thousandths, other.thousandths);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().stripTrailingZeros().toPlainString();
+    }
+}
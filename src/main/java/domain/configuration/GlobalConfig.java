@@ -2,6 +2,7 @@ package domain.configuration;
 
 import domain.common.BaseEntity;
 import domain.common.Guard;
+import domain.common.Margin;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
@@ -10,6 +11,8 @@ import java.math.BigDecimal;
 @Table(name = "global_configuration")
 public class GlobalConfig extends BaseEntity {
 
+    public static final BigDecimal DEFAULT_PROFIT_MARGIN = new BigDecimal("0.50");
+
     private BigDecimal defaultProfitMargin;
 
     protected GlobalConfig() {
@@ -19,6 +22,15 @@ public class GlobalConfig extends BaseEntity {
         setProfitMargin(defaultProfitMargin);
     }
 
+    /**
+     * Returns the configuration in effect before an administrator first changes it.
+     *
+     * @return a new, unsaved configuration with the default margin
+     */
+    public static GlobalConfig defaults() {
+        return new GlobalConfig(DEFAULT_PROFIT_MARGIN);
+    }
+
     public void updateProfitMargin(BigDecimal newMargin) {
         setProfitMargin(newMargin);
     }
@@ -26,10 +38,19 @@ public class GlobalConfig extends BaseEntity {
     private void setProfitMargin(BigDecimal margin) {
         Guard.againstNegative(margin, "Profit Margin");
         Guard.againstUnrealisticProfitMargin(margin, "Profit Margin");
+        Margin.of(margin);
         this.defaultProfitMargin = margin;
     }
 
     public BigDecimal getDefaultProfitMargin() {
         return defaultProfitMargin;
     }
+
+    public Margin getMargin() {
+        return Margin.of(defaultProfitMargin);
+    }
+
+    public GlobalConfigSnapshot snapshot() {
+        return new GlobalConfigSnapshot(getMargin());
+    }
 }
@@ -0,0 +1,12 @@
+package domain.configuration;
+
+import domain.common.Margin;
+
+/**
+ * Immutable, persistence-free copy of the global configuration.
+ * Safe to share between threads and to keep for the lifetime of the application.
+ */
+public record GlobalConfigSnapshot(
+    Margin profitMargin
+) {
+}
@@ -0,0 +1,109 @@
+package domain.salesbox;
+
+import domain.common.DomainException;
+import domain.common.Guard;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.users.User;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The products a customer is buying at a till, before tender.
+ * <p>
+ * Scanning the same barcode again adds to its line instead of opening a new one, and the total is kept
+ * up to date on every scan, so a basket costs the same to scan into whether it has three lines or three
+ * hundred. Prices and stock come from the product as the till sees it (usually from the product cache): the
+ * price is the one materialized on the product at the current profit margin, never computed at the till;
+ * the stock check here only catches obvious mistakes, the authoritative one happens when the sale is
+ * completed.
+ * </p>
+ */
+public class Basket {
+
+    private final Map<Barcode, BasketLine> lines = new LinkedHashMap<>();
+    private Money total = Money.ZERO;
+
+    /**
+     * Adds a scanned product to the basket.
+     *
+     * @param product  the product scanned
+     * @param quantity how much of it, one for a single unit or the weight for products sold by the kilo
+     * @return the basket line of the product after the scan
+     * @throws DomainException if the product has no sale price, or the quantity is not positive, fractional
+     *                         for a unit product or more than the known stock
+     */
+    public BasketLine scan(Product product, Quantity quantity) {
+        Guard.againstNull(product, "Product");
+        Guard.againstZeroOrNegative(quantity, "Quantity");
+        if (!product.getUnitType().allowsFractions()) {
+            Guard.againstFractional(quantity, "Quantity for UNIT products");
+        }
+
+        BasketLine current = lines.get(product.getBarcode());
+        BasketLine updated = current == null
+            ? BasketLine.first(product, quantity, priceOf(product))
+            : current.add(quantity);
+        if (updated.quantity().compareTo(product.getStockQuantity()) > 0) {
+            throw new DomainException("Insufficient stock for product: " + product.getName());
+        }
+
+        lines.put(updated.barcode(), updated);
+        total = total.plus(updated.total());
+        if (current != null) {
+            total = total.minus(current.total());
+        }
+        return updated;
+    }
+
+    private static Money priceOf(Product product) {
+        if (product.getPrice() == null) {
+            throw new DomainException("Product has no sale price: " + product.getName());
+        }
+        return product.getPrice();
+    }
+
+    /**
+     * Takes a product out of the basket altogether.
+     *
+     * @param barcode the barcode of the line to remove
+     * @return the removed line, or empty if the product was not in the basket
+     */
+    public Optional<BasketLine> remove(Barcode barcode) {
+        BasketLine removed = lines.remove(barcode);
+        if (removed != null) {
+            total = total.minus(removed.total());
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    /**
+     * Closes the basket into a sale made by the given cashier.
+     *
+     * @param cashier the user at the till
+     * @return the sale, ready to be completed
+     * @throws DomainException if the basket is empty
+     */
+    public Sale checkout(User cashier) {
+        if (lines.isEmpty()) {
+            throw new DomainException("Cannot complete an empty sale.");
+        }
+        return new Sale(cashier, getLines(), total);
+    }
+
+    public List<BasketLine> getLines() {
+        return List.copyOf(lines.values());
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+}
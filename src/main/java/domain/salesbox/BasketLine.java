@@ -0,0 +1,40 @@
+package domain.salesbox;
+
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.UnitType;
+
+/**
+ * One product in a basket, with everything scanned of it so far.
+ *
+ * @param productId   the product sold
+ * @param barcode     the barcode it was scanned with
+ * @param description the product name at the time of the sale, as printed on the ticket
+ * @param unitType    how the product is sold
+ * @param quantity    the accumulated quantity
+ * @param unitPrice   the price per unit (or per kilo) when it was first scanned
+ * @param total       the unit price times the quantity
+ */
+public record BasketLine(
+    String productId,
+    Barcode barcode,
+    String description,
+    UnitType unitType,
+    Quantity quantity,
+    Money unitPrice,
+    Money total
+) {
+
+    static BasketLine first(Product product, Quantity quantity, Money unitPrice) {
+        return new BasketLine(product.getId(), product.getBarcode(), product.getName(), product.getUnitType(),
+            quantity, unitPrice, unitPrice.times(quantity));
+    }
+
+    BasketLine add(Quantity more) {
+        Quantity accumulated = quantity.plus(more);
+        return new BasketLine(productId, barcode, description, unitType, accumulated, unitPrice,
+            unitPrice.times(accumulated));
+    }
+}
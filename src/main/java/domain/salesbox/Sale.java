@@ -0,0 +1,63 @@
+package domain.salesbox;
+
+import domain.common.AppendOnlyEntity;
+import domain.common.Guard;
+import domain.common.Money;
+import domain.users.User;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A completed sale: the ticket handed to the customer.
+ * Sales are only ever inserted; {@code createdAt} is the moment of tender.
+ */
+@Entity
+@Immutable
+@Table(name = "sales")
+public class Sale extends AppendOnlyEntity {
+
+    private String cashierId;
+
+    @Column(name = "totalCents")
+    private Money total;
+
+    @ElementCollection
+    @CollectionTable(name = "sale_lines", joinColumns = @JoinColumn(name = "saleId"))
+    @OrderColumn(name = "lineNumber")
+    private List<SaleLine> lines = new ArrayList<>();
+
+    protected Sale() {
+    }
+
+    Sale(User cashier, List<BasketLine> basketLines, Money total) {
+        Guard.againstNull(cashier, "Cashier");
+        Guard.againstNegative(total, "Sale total");
+
+        this.cashierId = cashier.getId();
+        this.total = total;
+        for (BasketLine line : basketLines) {
+            lines.add(new SaleLine(line));
+        }
+    }
+
+    public String getCashierId() {
+        return cashierId;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    public List<SaleLine> getLines() {
+        return Collections.unmodifiableList(lines);
+    }
+}
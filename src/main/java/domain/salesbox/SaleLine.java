@@ -0,0 +1,63 @@
+package domain.salesbox;
+
+import domain.common.Money;
+import domain.common.Quantity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+/**
+ * One line of a completed sale, as printed on the ticket. Copies the product data it needs, so the
+ * ticket keeps reading the same after the product is renamed or repriced.
+ */
+@Embeddable
+public class SaleLine {
+
+    private String productId;
+    private String barcode;
+    private String description;
+
+    @Column(name = "quantityThousandths")
+    private Quantity quantity;
+
+    @Column(name = "unitPriceCents")
+    private Money unitPrice;
+
+    @Column(name = "totalCents")
+    private Money total;
+
+    protected SaleLine() {
+    }
+
+    SaleLine(BasketLine line) {
+        this.productId = line.productId();
+        this.barcode = line.barcode().getValue();
+        this.description = line.description();
+        this.quantity = line.quantity();
+        this.unitPrice = line.unitPrice();
+        this.total = line.total();
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public String getBarcode() {
+        return barcode;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Quantity getQuantity() {
+        return quantity;
+    }
+
+    public Money getUnitPrice() {
+        return unitPrice;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,120 @@
+package domain.salesbox;
+
+import domain.common.DomainException;
+import domain.common.Guard;
+import domain.common.Quantity;
+import domain.stock.Product;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stock held by open baskets, so two tills cannot both sell the last unit of a product.
+ * <p>
+ * A scan reserves its quantity against the product's stock minus what other baskets already hold, and
+ * the reservation is released when the sale is completed (the stock has then left the ledger) or the line
+ * or basket is dropped. Reservations are split over lock stripes keyed by product id: tills scanning
+ * different products never wait on each other, and no lock is held while touching the database.
+ * </p>
+ * <p>
+ * Reservations live in this process only. The stock check made by {@code CompleteSale} inside the
+ * tender transaction stays the authority across processes.
+ * </p>
+ */
+public class StockReservations {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final Stripe[] stripes;
+
+    public StockReservations() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates the reservations with at least the given number of lock stripes, rounded up to a power of two.
+     *
+     * @param stripes the minimum number of stripes
+     */
+    public StockReservations(int stripes) {
+        Guard.againstNegative(stripes, "Stripes");
+        int count = 1;
+        while (count < stripes) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Holds a quantity of the product for a basket.
+     *
+     * @param product  the product scanned, with its stock as last read
+     * @param quantity the quantity to hold
+     * @throws DomainException if the stock not held by other baskets is less than the quantity
+     */
+    public void reserve(Product product, Quantity quantity) {
+        Guard.againstNull(product, "Product");
+        Guard.againstZeroOrNegative(quantity, "Quantity");
+        Stripe stripe = stripeOf(product.getId());
+        stripe.lock.lock();
+        try {
+            long held = stripe.reserved.getOrDefault(product.getId(), 0L);
+            long available = product.getStockQuantity().thousandths() - held;
+            if (quantity.thousandths() > available) {
+                throw new DomainException("Insufficient stock for product: " + product.getName());
+            }
+            stripe.reserved.put(product.getId(), held + quantity.thousandths());
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a quantity previously reserved. Releasing more than is held just clears the reservation.
+     *
+     * @param productId the product
+     * @param quantity  the quantity to give back
+     */
+    public void release(String productId, Quantity quantity) {
+        Stripe stripe = stripeOf(productId);
+        stripe.lock.lock();
+        try {
+            stripe.reserved.computeIfPresent(productId, (id, held) -> {
+                long left = held - quantity.thousandths();
+                return left > 0 ? left : null;
+            });
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void release(BasketLine line) {
+        release(line.productId(), line.quantity());
+    }
+
+    public void releaseAll(Basket basket) {
+        basket.getLines().forEach(this::release);
+    }
+
+    public Quantity reservedOf(String productId) {
+        Stripe stripe = stripeOf(productId);
+        stripe.lock.lock();
+        try {
+            return new Quantity(stripe.reserved.getOrDefault(productId, 0L));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeOf(String productId) {
+        return stripes[productId.hashCode() & (stripes.length - 1)];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Long> reserved = new HashMap<>();
+    }
+}
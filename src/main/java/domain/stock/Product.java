@@ -1,39 +1,89 @@
 package domain.stock;
 
 import domain.common.BaseEntity;
+import domain.common.ConcurrentUpdateException;
 import domain.common.DomainException;
 import domain.common.Guard;
+import domain.common.Margin;
+import domain.common.Money;
+import domain.common.Quantity;
+import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Table;
-import java.math.BigDecimal;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.NaturalId;
 
 /**
  * Represents a physical item in the inventory.
  * Manages stock levels, identification (barcode) and replacement cost.
+ * <p>
+ * Stock is not stored in the product row: every change is kept as a pending {@link StockChange}
+ * to be appended to the stock ledger, and the persisted stock is read back as the product's last
+ * stock snapshot plus the movements recorded after it.
+ * </p>
+ * <p>
+ * The sale price is kept with the product rather than computed at the till: it is the cost marked up by
+ * the margin the product was last priced with, and is recomputed whenever the cost changes. A product
+ * never priced has no sale price.
+ * </p>
+ * <p>
+ * Every update of the product row bumps its version, so saving a copy read before someone else's
+ * change fails instead of silently overwriting it.
+ * </p>
  */
 @Entity
+@DynamicUpdate
 @Table(name = "products")
 public class Product extends BaseEntity {
 
+    private static final String STOCK_FROM_LEDGER = "("
+        + "coalesce((select s.quantityThousandths from stock_snapshots s where s.productId = id), 0)"
+        + " + coalesce((select sum(m.deltaThousandths) from stock_movements m where m.productId = id"
+        + " and m.ledgerPosition > coalesce((select s.lastLedgerPosition from stock_snapshots s"
+        + " where s.productId = id), 0)"
+        + "), 0))";
+
     private String name;
     private String description;
 
+    @NaturalId(mutable = true)
     @Embedded
     private Barcode barcode;
 
-    private BigDecimal stockQuantity;
-    private BigDecimal cost;
+    @Formula(STOCK_FROM_LEDGER)
+    private long stockThousandths;
+
+    @Column(name = "costCents")
+    private Money cost;
+
+    @Column(name = "priceCents")
+    private Money price;
+
+    @Column(name = "marginBasisPoints")
+    private Margin margin;
 
     @Enumerated(EnumType.STRING)
     private UnitType unitType;
 
+    @Version
+    private Long version;
+
+    @Transient
+    private final List<StockChange> pendingStockChanges = new ArrayList<>();
+
     protected Product() {
     }
 
-    public Product(String name, Barcode barcode, UnitType unitType, BigDecimal initialStock, BigDecimal cost) {
+    public Product(String name, Barcode barcode, UnitType unitType, Quantity initialStock, Money cost) {
         Guard.againstNullOrEmpty(name, "Product name");
         Guard.againstNull(barcode, "Barcode");
         Guard.againstNull(unitType, "Unit Type");
@@ -46,26 +96,59 @@ public class Product extends BaseEntity {
         this.cost = cost;
 
         validateStockForUnitType(initialStock, unitType);
-        this.stockQuantity = initialStock;
+        this.stockThousandths = initialStock.thousandths();
+        recordStockChange(initialStock, StockMovementReason.INITIAL_STOCK);
     }
 
-    public void restock(BigDecimal quantityIn, BigDecimal newEntryCost) {
+    private Product(ProductSnapshot snapshot) {
+        super(snapshot.id(), snapshot.createdAt());
+        this.name = snapshot.name();
+        this.description = snapshot.description();
+        this.barcode = new Barcode(snapshot.barcode());
+        this.unitType = snapshot.unitType();
+        this.stockThousandths = snapshot.stockQuantity().thousandths();
+        this.cost = snapshot.cost();
+        this.price = snapshot.price();
+        this.margin = snapshot.margin();
+        this.version = snapshot.version();
+    }
+
+    /**
+     * Rebuilds a detached product from a snapshot previously taken with {@link #snapshot()}.
+     *
+     * @param snapshot the captured state
+     * @return a new instance with the same identity and state
+     */
+    public static Product restore(ProductSnapshot snapshot) {
+        Guard.againstNull(snapshot, "Product snapshot");
+        return new Product(snapshot);
+    }
+
+    public ProductSnapshot snapshot() {
+        return new ProductSnapshot(getId(), getCreatedAt(), name, description, barcode.getValue(),
+            unitType, getStockQuantity(), cost, price, margin, version);
+    }
+
+    public void restock(Quantity quantityIn, Money newEntryCost) {
         Guard.againstZeroOrNegative(quantityIn, "Quantity to add");
         Guard.againstZeroOrNegative(newEntryCost, "New Entry Cost");
         validateStockForUnitType(quantityIn, this.unitType);
 
         this.cost = newEntryCost;
-        this.stockQuantity = this.stockQuantity.add(quantityIn);
+        reprice();
+        this.stockThousandths = Math.addExact(this.stockThousandths, quantityIn.thousandths());
+        recordStockChange(quantityIn, StockMovementReason.RESTOCK);
     }
 
-    public void reduceStock(BigDecimal quantity) {
+    public void reduceStock(Quantity quantity) {
         Guard.againstNegative(quantity, "Quantity to reduce");
         validateStockForUnitType(quantity, this.unitType);
 
-        if (this.stockQuantity.compareTo(quantity) < 0) {
+        if (this.stockThousandths < quantity.thousandths()) {
             throw new DomainException("Insufficient stock for product: " + this.name);
         }
-        this.stockQuantity = this.stockQuantity.subtract(quantity);
+        this.stockThousandths -= quantity.thousandths();
+        recordStockChange(quantity.negate(), StockMovementReason.SALE);
     }
 
     /**
@@ -78,19 +161,50 @@ public class Product extends BaseEntity {
      * @param unitType    new unit type (must be compatible with current stock)
      * @param cost        new replacement cost
      */
-    public void updateDetails(String name, String description, Barcode barcode, UnitType unitType, BigDecimal cost) {
+    public void updateDetails(String name, String description, Barcode barcode, UnitType unitType, Money cost) {
         Guard.againstNullOrEmpty(name, "Product name");
         Guard.againstNull(barcode, "Barcode");
         Guard.againstNull(unitType, "Unit Type");
         Guard.againstNegative(cost, "Cost");
 
-        validateStockForUnitType(this.stockQuantity, unitType);
+        validateStockForUnitType(getStockQuantity(), unitType);
 
         this.name = name;
         this.description = description;
         this.barcode = barcode;
         this.unitType = unitType;
         this.cost = cost;
+        reprice();
+    }
+
+    /**
+     * Sets the sale price to the cost marked up by the given margin, and keeps that margin for later
+     * cost changes.
+     *
+     * @param newMargin the margin to price with
+     */
+    public void priceWith(Margin newMargin) {
+        Guard.againstNull(newMargin, "Margin");
+        this.margin = newMargin;
+        reprice();
+    }
+
+    private void reprice() {
+        if (margin != null) {
+            this.price = margin.applyTo(cost);
+        }
+    }
+
+    /**
+     * Checks that the product is still the one the caller read before changing it.
+     *
+     * @param expectedVersion the version the caller saw
+     * @throws ConcurrentUpdateException if the product was saved since
+     */
+    public void ensureVersion(Long expectedVersion) {
+        if (!Objects.equals(version, expectedVersion)) {
+            throw new ConcurrentUpdateException("Product was modified by another user. Reload it and try again.");
+        }
     }
 
     /**
@@ -99,13 +213,32 @@ public class Product extends BaseEntity {
      *
      * @param newStock the new total stock quantity
      */
-    public void adjustStock(BigDecimal newStock) {
+    public void adjustStock(Quantity newStock) {
         Guard.againstNegative(newStock, "Stock");
         validateStockForUnitType(newStock, this.unitType);
-        this.stockQuantity = newStock;
+        Quantity delta = new Quantity(newStock.thousandths() - this.stockThousandths);
+        this.stockThousandths = newStock.thousandths();
+        recordStockChange(delta, StockMovementReason.ADJUSTMENT);
     }
 
-    private void validateStockForUnitType(BigDecimal quantity, UnitType type) {
+    /**
+     * Returns the stock changes made since the last call and forgets them.
+     *
+     * @return the pending changes, oldest first
+     */
+    public List<StockChange> pullStockChanges() {
+        List<StockChange> changes = List.copyOf(pendingStockChanges);
+        pendingStockChanges.clear();
+        return changes;
+    }
+
+    private void recordStockChange(Quantity delta, StockMovementReason reason) {
+        if (delta.signum() != 0) {
+            pendingStockChanges.add(new StockChange(delta, reason));
+        }
+    }
+
+    private void validateStockForUnitType(Quantity quantity, UnitType type) {
         if (!type.allowsFractions()) {
             Guard.againstFractional(quantity, "Stock for UNIT products");
         }
@@ -127,15 +260,32 @@ public class Product extends BaseEntity {
         return description;
     }
 
-    public BigDecimal getStockQuantity() {
-        return stockQuantity;
+    public Quantity getStockQuantity() {
+        return new Quantity(stockThousandths);
     }
 
     public UnitType getUnitType() {
         return unitType;
     }
 
-    public BigDecimal getCost() {
+    public Money getCost() {
         return cost;
     }
+
+    /**
+     * Returns the sale price, as materialized when the product was last priced or its cost changed.
+     *
+     * @return the price, or {@code null} if the product was never priced
+     */
+    public Money getPrice() {
+        return price;
+    }
+
+    public Margin getMargin() {
+        return margin;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
 }
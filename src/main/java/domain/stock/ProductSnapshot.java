@@ -0,0 +1,25 @@
+package domain.stock;
+
+import domain.common.Margin;
+import domain.common.Money;
+import domain.common.Quantity;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable, persistence-free copy of a product's state.
+ * Lets callers keep products in memory without holding on to live entities.
+ */
+public record ProductSnapshot(
+    String id,
+    LocalDateTime createdAt,
+    String name,
+    String description,
+    String barcode,
+    UnitType unitType,
+    Quantity stockQuantity,
+    Money cost,
+    Money price,
+    Margin margin,
+    Long version
+) {
+}
@@ -0,0 +1,12 @@
+package domain.stock;
+
+import domain.common.Quantity;
+
+/**
+ * A stock change made on a product and not yet recorded in the stock ledger.
+ *
+ * @param delta  the signed quantity added to (positive) or removed from (negative) the stock
+ * @param reason why the stock changed
+ */
+public record StockChange(Quantity delta, StockMovementReason reason) {
+}
@@ -0,0 +1,77 @@
+package domain.stock;
+
+import domain.common.AppendOnlyEntity;
+import domain.common.Guard;
+import domain.common.Quantity;
+import domain.users.User;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import java.util.List;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * One entry of the append-only stock ledger.
+ * The stock of a product is the sum of its movements; rows are only ever inserted,
+ * and {@code createdAt} records when the change happened.
+ */
+@Entity
+@Immutable
+@Table(name = "stock_movements")
+public class StockMovement extends AppendOnlyEntity {
+
+    private String productId;
+    @Column(name = "deltaThousandths")
+    private Quantity delta;
+
+    @Enumerated(EnumType.STRING)
+    private StockMovementReason reason;
+
+    private String actorId;
+
+    protected StockMovement() {
+    }
+
+    public StockMovement(String productId, StockChange change, User actor) {
+        Guard.againstNullOrEmpty(productId, "Product id");
+        Guard.againstNull(change, "Stock change");
+        Guard.againstNull(actor, "Actor");
+
+        this.productId = productId;
+        this.delta = change.delta();
+        this.reason = change.reason();
+        this.actorId = actor.getId();
+    }
+
+    /**
+     * Turns the stock changes pending on a product into ledger entries made by the given user.
+     * The changes are taken from the product, so each one is recorded only once.
+     *
+     * @param product the product whose stock changed
+     * @param actor   the user who made the changes
+     * @return the movements to append, in the order the changes were made
+     */
+    public static List<StockMovement> takeFrom(Product product, User actor) {
+        return product.pullStockChanges().stream()
+            .map(change -> new StockMovement(product.getId(), change, actor))
+            .toList();
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public Quantity getDelta() {
+        return delta;
+    }
+
+    public StockMovementReason getReason() {
+        return reason;
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+}
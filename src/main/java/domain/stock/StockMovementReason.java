@@ -0,0 +1,11 @@
+package domain.stock;
+
+/**
+ * Why the stock of a product changed.
+ */
+public enum StockMovementReason {
+    INITIAL_STOCK,
+    RESTOCK,
+    SALE,
+    ADJUSTMENT
+}
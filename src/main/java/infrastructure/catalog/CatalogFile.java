@@ -0,0 +1,272 @@
+package infrastructure.catalog;
+
+import application.dtos.CatalogRow;
+import application.interfaces.CatalogSource;
+import domain.common.DomainException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A supplier catalog file in UTF-8, read one line at a time.
+ * <p>
+ * Two layouts are understood. A CSV file starts with a header naming its columns ({@code barcode},
+ * {@code name}, {@code description}, {@code unit_type}, {@code quantity}, {@code cost}, in any order and
+ * case; unknown columns are ignored). Fields are separated by commas, semicolons or tabs, whichever the header
+ * uses, and may be double-quoted; a quoted field cannot span lines. A fixed-width file has no header and
+ * the six columns in that order, with the given widths.
+ * </p>
+ * <p>
+ * The id of the file is the SHA-256 of its bytes, so a renamed copy is recognized as the same catalog.
+ * </p>
+ */
+public final class CatalogFile implements CatalogSource {
+
+    private static final List<String> COLUMNS = List.of("barcode", "name", "description", "unittype", "quantity",
+        "cost");
+    private static final int BARCODE = 0;
+    private static final int NAME = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int UNIT_TYPE = 3;
+    private static final int QUANTITY = 4;
+    private static final int COST = 5;
+    private static final char QUOTE = '"';
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final Path path;
+    private final int[] widths;
+    private String id;
+
+    private CatalogFile(Path path, int[] widths) {
+        this.path = path;
+        this.widths = widths;
+    }
+
+    public static CatalogFile csv(Path path) {
+        return new CatalogFile(path, null);
+    }
+
+    /**
+     * Reads a fixed-width file.
+     *
+     * @param path   the file
+     * @param widths the width of the barcode, name, description, unit type, quantity and cost columns
+     * @return the catalog
+     */
+    public static CatalogFile fixedWidth(Path path, int... widths) {
+        if (widths.length != COLUMNS.size()) {
+            throw new IllegalArgumentException("Expected " + COLUMNS.size() + " column widths: "
+                + Arrays.toString(widths));
+        }
+        return new CatalogFile(path, widths.clone());
+    }
+
+    @Override
+    public synchronized String id() {
+        if (id == null) {
+            id = sha256();
+        }
+        return id;
+    }
+
+    @Override
+    public String name() {
+        return path.getFileName().toString();
+    }
+
+    @Override
+    public Stream<CatalogRow> rows() {
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open catalog " + path, e);
+        }
+        try {
+            Iterator<CatalogRow> rows = new RowIterator(reader, widths == null ? csvLayout(reader) : this::fixedWidth,
+                widths == null ? 1 : 0);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> close(reader));
+        } catch (RuntimeException e) {
+            close(reader);
+            throw e;
+        }
+    }
+
+    private static Function<String, String[]> csvLayout(BufferedReader reader) {
+        String header = readLine(reader);
+        if (header == null) {
+            return line -> new String[COLUMNS.size()];
+        }
+        header = header.startsWith(BYTE_ORDER_MARK) ? header.substring(1) : header;
+        char separator = separatorOf(header);
+        int[] positions = new int[COLUMNS.size()];
+        Arrays.fill(positions, -1);
+        List<String> names = splitCsv(header, separator);
+        for (int position = 0; position < names.size(); position++) {
+            int column = COLUMNS.indexOf(names.get(position).toLowerCase(Locale.ROOT).replaceAll("[^a-z]", ""));
+            if (column >= 0) {
+                positions[column] = position;
+            }
+        }
+        if (positions[BARCODE] < 0) {
+            throw new DomainException("The catalog header has no barcode column: " + header);
+        }
+        return line -> {
+            List<String> fields = splitCsv(line, separator);
+            String[] values = new String[COLUMNS.size()];
+            for (int column = 0; column < values.length; column++) {
+                values[column] = positions[column] >= 0 && positions[column] < fields.size()
+                    ? fields.get(positions[column]) : null;
+            }
+            return values;
+        };
+    }
+
+    private static char separatorOf(String header) {
+        if (header.indexOf('\t') >= 0) {
+            return '\t';
+        }
+        return header.indexOf(';') >= 0 ? ';' : ',';
+    }
+
+    private static List<String> splitCsv(String line, char separator) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            boolean escapedQuote = quoted && c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE;
+            if (escapedQuote) {
+                field.append(QUOTE);
+                i++;
+            } else if (c == QUOTE) {
+                quoted = !quoted;
+            } else if (c == separator && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+            i++;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private String[] fixedWidth(String line) {
+        String[] values = new String[COLUMNS.size()];
+        int start = 0;
+        for (int column = 0; column < values.length; column++) {
+            int end = Math.min(line.length(), start + widths[column]);
+            values[column] = start < end ? line.substring(start, end) : null;
+            start += widths[column];
+        }
+        return values;
+    }
+
+    private String sha256() {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(path), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog " + path, e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read catalog", e);
+        }
+    }
+
+    private static void close(BufferedReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close catalog", e);
+        }
+    }
+
+    private static String valueOf(String field) {
+        if (field == null) {
+            return null;
+        }
+        String trimmed = field.strip();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * Turns the lines of the file into rows, numbering them from the top of the file and skipping blank ones.
+     */
+    private static final class RowIterator implements Iterator<CatalogRow> {
+        private final BufferedReader reader;
+        private final Function<String, String[]> layout;
+        private long lineNumber;
+        private CatalogRow next;
+
+        RowIterator(BufferedReader reader, Function<String, String[]> layout, long linesRead) {
+            this.reader = reader;
+            this.layout = layout;
+            this.lineNumber = linesRead;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                String line = readLine(reader);
+                if (line == null) {
+                    return false;
+                }
+                lineNumber++;
+                if (!line.isBlank()) {
+                    String[] values = layout.apply(line);
+                    next = new CatalogRow(lineNumber, valueOf(values[BARCODE]), valueOf(values[NAME]),
+                        valueOf(values[DESCRIPTION]), valueOf(values[UNIT_TYPE]), valueOf(values[QUANTITY]),
+                        valueOf(values[COST]));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public CatalogRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CatalogRow row = next;
+            next = null;
+            return row;
+        }
+    }
+}
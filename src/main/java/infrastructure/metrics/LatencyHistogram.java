@@ -0,0 +1,139 @@
+package infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram in microseconds with log-linear buckets, in the manner of HdrHistogram.
+ * <p>
+ * Every power of two is split into 32 linear sub-buckets, so a recorded value is known to within about 3%
+ * whether it is 40 µs or 40 s, with a fixed 8 KB per histogram and one atomic increment per value. Values
+ * below 64 µs are exact; values above about 38 hours are counted in the last bucket.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final long HIGHEST_TRACKABLE = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int LONG_BITS = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalMicros = new LongAdder();
+
+    /**
+     * Counts one value.
+     *
+     * @param micros the latency in microseconds; negative values count as zero
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE);
+        counts.incrementAndGet(indexOf(value));
+        totalMicros.add(value);
+    }
+
+    /**
+     * Copies the current counts. Values recorded while copying may or may not be included.
+     *
+     * @return the distribution recorded so far
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, totalMicros.sum());
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = LONG_BITS - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * An immutable copy of a histogram, or the difference between two copies.
+     */
+    public static final class Snapshot {
+
+        private static final double PERCENT = 100.0;
+
+        private final long[] counts;
+        private final long totalMicros;
+        private final long count;
+
+        private Snapshot(long[] counts, long totalMicros) {
+            this.counts = counts;
+            this.totalMicros = totalMicros;
+            long sum = 0;
+            for (long bucket : counts) {
+                sum += bucket;
+            }
+            this.count = sum;
+        }
+
+        /**
+         * Returns what was recorded after an earlier snapshot of the same histogram.
+         *
+         * @param earlier the earlier snapshot
+         * @return the values recorded in between
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] difference = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                difference[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(difference, totalMicros - earlier.totalMicros);
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double meanMicros() {
+            return count == 0 ? 0 : (double) totalMicros / count;
+        }
+
+        /**
+         * Returns the value below which the given percentage of the values fall, as the highest value of
+         * its bucket.
+         *
+         * @param percentile between 0 and 100
+         * @return the value in microseconds, or 0 when nothing was recorded
+         */
+        public long percentileMicros(double percentile) {
+            long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    return highestValueOf(i);
+                }
+            }
+            return 0;
+        }
+
+        public long maxMicros() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return highestValueOf(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package infrastructure.metrics;
+
+import domain.common.DomainException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls, failures and latency of one operation of one layer, e.g. the {@code findByBarcode} method of the
+ * product repository. Recording is lock-free and allocates nothing once a rejection type has been seen.
+ */
+public class OperationStats implements OperationStatsMXBean {
+
+    private static final double P50 = 50;
+    private static final double P90 = 90;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
+    private final String layer;
+    private final String name;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    OperationStats(String layer, String name) {
+        this.layer = layer;
+        this.name = name;
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param nanos   how long it took
+     * @param failure what it threw, or {@code null} if it succeeded
+     */
+    public void record(long nanos, Throwable failure) {
+        calls.increment();
+        latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (failure instanceof DomainException) {
+            rejections.computeIfAbsent(failure.getClass().getSimpleName(), type -> new LongAdder()).increment();
+        } else if (failure != null) {
+            errors.increment();
+        }
+    }
+
+    public String getLayer() {
+        return layer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram.Snapshot latency() {
+        return latency.snapshot();
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public Map<String, Long> getRejections() {
+        Map<String, Long> counts = new TreeMap<>();
+        rejections.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    long getRejectionCount() {
+        return rejections.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.snapshot().meanMicros();
+    }
+
+    @Override
+    public long getP50Micros() {
+        return latency.snapshot().percentileMicros(P50);
+    }
+
+    @Override
+    public long getP90Micros() {
+        return latency.snapshot().percentileMicros(P90);
+    }
+
+    @Override
+    public long getP99Micros() {
+        return latency.snapshot().percentileMicros(P99);
+    }
+
+    @Override
+    public long getP999Micros() {
+        return latency.snapshot().percentileMicros(P999);
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return latency.snapshot().maxMicros();
+    }
+}
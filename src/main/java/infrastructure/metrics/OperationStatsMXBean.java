@@ -0,0 +1,38 @@
+package infrastructure.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of one instrumented operation, registered as {@code storeflow:type=<layer>,name=<operation>}.
+ * Counters and latencies cover the whole life of the process; latencies are in microseconds.
+ */
+public interface OperationStatsMXBean {
+
+    long getCalls();
+
+    /**
+     * Calls that failed with something other than a business rule: database, Hibernate or programming errors.
+     *
+     * @return the number of failed calls
+     */
+    long getErrors();
+
+    /**
+     * Calls rejected by a business rule, per {@code DomainException} type.
+     *
+     * @return the number of rejected calls by exception simple name
+     */
+    Map<String, Long> getRejections();
+
+    double getMeanMicros();
+
+    long getP50Micros();
+
+    long getP90Micros();
+
+    long getP99Micros();
+
+    long getP999Micros();
+
+    long getMaxMicros();
+}
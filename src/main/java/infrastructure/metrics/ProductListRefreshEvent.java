@@ -0,0 +1,46 @@
+package infrastructure.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for applying loaded products to the product list, on the FX thread.
+ */
+@Name("storeflow.ProductListRefresh")
+@Label("Product List Refresh")
+@Category({"StoreFlow", "UI"})
+@Description("Products of a catalog page or a search applied to the product table")
+public class ProductListRefreshEvent extends Event {
+
+    @Label("Kind")
+    @Description("page or search")
+    private String kind;
+
+    @Label("Query")
+    private String query;
+
+    @Label("Rows")
+    @Description("Products applied")
+    private int rows;
+
+    @Label("List Size")
+    @Description("Products in the list afterwards")
+    private int listSize;
+
+    /**
+     * Ends the refresh and records it, if the event is enabled and over its threshold.
+     */
+    public void end(String kind, String query, int rows, int listSize) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.query = query;
+            this.rows = rows;
+            this.listSize = listSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package infrastructure.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one call to a repository instrumented by {@link StoreMetrics#instrument}.
+ */
+@Name("storeflow.RepositoryCall")
+@Label("Repository Call")
+@Category({"StoreFlow", "Persistence"})
+@Description("A call to a repository method, including Hibernate and SQLite time")
+@StackTrace(false)
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Operation")
+    @Description("Repository method, e.g. ProductRepository.findByBarcode")
+    private String operation;
+
+    @Label("Entity")
+    private String entity;
+
+    @Label("Rows")
+    @Description("Entities returned: the size of a list, 1 or 0 for a single or optional result")
+    private int rows;
+
+    @Label("Failure")
+    @Description("Type of the exception thrown, if the call failed")
+    private String failure;
+
+    /**
+     * Ends the call and records it, if the event is enabled and over its threshold.
+     */
+    public void end(String operation, String entity, int rows, String failure) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.entity = entity;
+            this.rows = rows;
+            this.failure = failure;
+            commit();
+        }
+    }
+}
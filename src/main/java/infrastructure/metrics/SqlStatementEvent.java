@@ -0,0 +1,44 @@
+package infrastructure.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event for one JDBC execution or commit on a pooled SQLite connection.
+ */
+@Name("storeflow.SqlStatement")
+@Label("SQL Statement")
+@Category({"StoreFlow", "Persistence"})
+@Description("A statement execution or commit on SQLite, until the first row or the update count")
+@StackTrace(false)
+@Threshold("1 ms")
+public class SqlStatementEvent extends Event {
+
+    @Label("Kind")
+    @Description("query, update, batch or commit")
+    private String kind;
+
+    @Label("SQL")
+    private String sql;
+
+    @Label("Failure")
+    private String failure;
+
+    /**
+     * Ends the execution and records it, if the event is enabled and over its threshold.
+     */
+    public void end(String kind, String sql, String failure) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.sql = sql;
+            this.failure = failure;
+            commit();
+        }
+    }
+}
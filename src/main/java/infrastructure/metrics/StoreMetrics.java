@@ -0,0 +1,206 @@
+package infrastructure.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Latency and outcome of the operations of each layer, exposed over JMX and in a periodic log.
+ * <p>
+ * Three layers are measured, so a slowdown can be placed: {@link #USE_CASE} is the whole use case (domain,
+ * Hibernate and SQLite), {@link #REPOSITORY} the repository calls it makes (Hibernate and SQLite), and
+ * {@link #SQLITE} the JDBC statements and commits that reach the database. What a use case spends outside
+ * its repositories is domain work; what a repository spends outside SQLite is Hibernate.
+ * </p>
+ * <p>
+ * Every operation gets an MBean named {@code storeflow:type=<layer>,name=<operation>} the first time it is
+ * recorded. Repository calls are also emitted as {@link RepositoryCallEvent}s for Flight Recorder.
+ * Acts as a Singleton for the application lifecycle, like the platform MBean server it registers in.
+ * </p>
+ */
+public final class StoreMetrics {
+
+    public static final String USE_CASE = "UseCase";
+    public static final String REPOSITORY = "Repository";
+    public static final String SQLITE = "Sqlite";
+
+    private static final Logger LOGGER = Logger.getLogger(StoreMetrics.class.getName());
+    private static final StoreMetrics INSTANCE = new StoreMetrics(ManagementFactory.getPlatformMBeanServer());
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double P50 = 50;
+    private static final double P99 = 99;
+
+    private final MBeanServer server;
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final Map<OperationStats, LatencyHistogram.Snapshot> lastLogged = new HashMap<>();
+    private ScheduledExecutorService logger;
+
+    private StoreMetrics(MBeanServer server) {
+        this.server = server;
+    }
+
+    public static StoreMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the statistics of an operation, registering its MBean the first time.
+     *
+     * @param layer one of {@link #USE_CASE}, {@link #REPOSITORY} or {@link #SQLITE}
+     * @param name  the operation within the layer
+     * @return the statistics to record into
+     */
+    public OperationStats operation(String layer, String name) {
+        return operations.computeIfAbsent(layer + ':' + name, key -> register(new OperationStats(layer, name)));
+    }
+
+    private OperationStats register(OperationStats stats) {
+        try {
+            String name = stats.getName().matches("[\\w.]+") ? stats.getName() : ObjectName.quote(stats.getName());
+            server.registerMBean(stats, new ObjectName("storeflow:type=" + stats.getLayer() + ",name=" + name));
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Could not register the MBean of " + stats.getName(), e);
+        }
+        return stats;
+    }
+
+    /**
+     * Runs and records one operation. A call failing with an {@link Error} is recorded as an error too,
+     * then rethrown unchanged.
+     *
+     * @param layer the layer of the operation
+     * @param name  the operation
+     * @param work  the operation itself
+     * @param <T>   the result type
+     * @return what the work returned
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public <T> T time(String layer, String name, Supplier<T> work) {
+        OperationStats stats = operation(layer, name);
+        long start = System.nanoTime();
+        try {
+            T result = work.get();
+            stats.record(System.nanoTime() - start, null);
+            return result;
+        } catch (Throwable t) {
+            stats.record(System.nanoTime() - start, t);
+            throw t;
+        }
+    }
+
+    /**
+     * Wraps a repository so that every call to a method of its interface is recorded in the
+     * {@link #REPOSITORY} layer as {@code <Interface>.<method>}, and as a {@link RepositoryCallEvent}.
+     *
+     * @param type   the repository interface
+     * @param target the repository
+     * @param <T>    the interface type
+     * @return a repository recording its calls
+     */
+    public <T> T instrument(Class<T> type, T target) {
+        String entity = type.getSimpleName().replace("Repository", "");
+        Map<Method, OperationStats> methods = new ConcurrentHashMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            OperationStats stats = methods.computeIfAbsent(method,
+                key -> operation(REPOSITORY, type.getSimpleName() + "." + key.getName()));
+            RepositoryCallEvent event = new RepositoryCallEvent();
+            event.begin();
+            long start = System.nanoTime();
+            try {
+                Object result = method.invoke(target, args);
+                stats.record(System.nanoTime() - start, null);
+                event.end(stats.getName(), entity, rowsOf(result), null);
+                return result;
+            } catch (InvocationTargetException e) {
+                stats.record(System.nanoTime() - start, e.getCause());
+                event.end(stats.getName(), entity, 0, e.getCause().getClass().getSimpleName());
+                throw e.getCause();
+            }
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static int rowsOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+
+    /**
+     * Starts logging, once per interval, the operations called during the interval with their percentiles.
+     *
+     * @param interval how often to log
+     */
+    public synchronized void startLogging(Duration interval) {
+        if (logger != null) {
+            return;
+        }
+        logger = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "storeflow-metrics-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = interval.toMillis();
+        logger.scheduleAtFixedRate(() -> logInterval(interval), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopLogging() {
+        if (logger != null) {
+            logger.shutdownNow();
+            logger = null;
+        }
+    }
+
+    private synchronized void logInterval(Duration interval) {
+        StringBuilder report = new StringBuilder();
+        List<OperationStats> sorted = operations.values().stream()
+            .sorted(Comparator.comparing(OperationStats::getLayer).thenComparing(OperationStats::getName))
+            .toList();
+        for (OperationStats stats : sorted) {
+            LatencyHistogram.Snapshot total = stats.latency();
+            LatencyHistogram.Snapshot previous = lastLogged.put(stats, total);
+            LatencyHistogram.Snapshot recent = previous == null ? total : total.since(previous);
+            if (recent.count() > 0) {
+                report.append(String.format(Locale.ROOT, "%n  %-10s %-40s %7d calls  p50 %8.2f ms  p99 %8.2f ms"
+                    + "  max %8.2f ms  (%d errors, %d rejected since start)",
+                    stats.getLayer(), stats.getName(), recent.count(), millis(recent.percentileMicros(P50)),
+                    millis(recent.percentileMicros(P99)), millis(recent.maxMicros()), stats.getErrors(),
+                    stats.getRejectionCount()));
+            }
+        }
+        if (!report.isEmpty()) {
+            LOGGER.info("Operations in the last " + interval.toSeconds() + " s:" + report);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,36 @@
+package infrastructure.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for the commit of a unit of work: the Hibernate flush and the SQLite commit.
+ */
+@Name("storeflow.TransactionCommit")
+@Label("Transaction Commit")
+@Category({"StoreFlow", "Persistence"})
+@Description("Flush and commit of a unit of work")
+public class TransactionCommitEvent extends Event {
+
+    @Label("Entities")
+    @Description("Entities in the persistence context when the commit started")
+    private int entities;
+
+    @Label("Committed")
+    private boolean committed;
+
+    /**
+     * Ends the commit and records it, if the event is enabled and over its threshold.
+     */
+    public void end(int entities, boolean committed) {
+        end();
+        if (shouldCommit()) {
+            this.entities = entities;
+            this.committed = committed;
+            commit();
+        }
+    }
+}
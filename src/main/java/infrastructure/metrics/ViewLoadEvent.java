@@ -0,0 +1,31 @@
+package infrastructure.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for loading an FXML view and showing it, on the FX thread.
+ */
+@Name("storeflow.ViewLoad")
+@Label("View Load")
+@Category({"StoreFlow", "UI"})
+@Description("FXML loading, controller creation and scene switch")
+public class ViewLoadEvent extends Event {
+
+    @Label("FXML")
+    private String fxml;
+
+    /**
+     * Ends the load and records it, if the event is enabled and over its threshold.
+     */
+    public void end(String fxml) {
+        end();
+        if (shouldCommit()) {
+            this.fxml = fxml;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package infrastructure.persistence;
+
+import application.dtos.CatalogImportProgress;
+import application.dtos.CatalogRejection;
+import application.interfaces.CatalogImportJournal;
+import application.interfaces.CatalogSource;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public class SqliteCatalogImportJournal implements CatalogImportJournal {
+
+    private static final String SELECT_PROGRESS = "SELECT sourceName, lastLine, created, restocked, rejected, "
+        + "completed FROM catalog_imports WHERE sourceId = :sourceId";
+    private static final String INSERT_PROGRESS = "INSERT INTO catalog_imports "
+        + "(sourceId, sourceName, lastLine, created, restocked, rejected, completed, startedAt, updatedAt) "
+        + "VALUES (:sourceId, :sourceName, 0, 0, 0, 0, 0, :now, :now)";
+    private static final String UPDATE_PROGRESS = "UPDATE catalog_imports SET lastLine = :lastLine, "
+        + "created = :created, restocked = :restocked, rejected = :rejected, completed = :completed, "
+        + "updatedAt = :now WHERE sourceId = :sourceId";
+    private static final String INSERT_REJECTION = "INSERT OR REPLACE INTO catalog_import_rejections "
+        + "(sourceId, line, barcode, reason) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_REJECTIONS = "SELECT line, barcode, reason FROM catalog_import_rejections "
+        + "WHERE sourceId = :sourceId ORDER BY line";
+
+    @Override
+    public CatalogImportProgress start(CatalogSource source) {
+        try {
+            return HibernateUnitOfWork.write(session -> {
+                Optional<Object[]> row = session.createNativeQuery(SELECT_PROGRESS, Object[].class)
+                    .setParameter("sourceId", source.id())
+                    .uniqueResultOptional();
+                if (row.isPresent()) {
+                    Object[] columns = row.get();
+                    int column = 0;
+                    return new CatalogImportProgress(source.id(), (String) columns[column++],
+                        number(columns[column++]), (int) number(columns[column++]),
+                        (int) number(columns[column++]), (int) number(columns[column++]),
+                        number(columns[column]) != 0);
+                }
+                session.createNativeMutationQuery(INSERT_PROGRESS)
+                    .setParameter("sourceId", source.id())
+                    .setParameter("sourceName", source.name())
+                    .setParameter("now", LocalDateTime.now())
+                    .executeUpdate();
+                return CatalogImportProgress.start(source.id(), source.name());
+            });
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to start catalog import", e);
+        }
+    }
+
+    @Override
+    public void record(CatalogImportProgress progress, List<CatalogRejection> rejections) {
+        try {
+            HibernateUnitOfWork.write(session -> {
+                session.createNativeMutationQuery(UPDATE_PROGRESS)
+                    .setParameter("lastLine", progress.lastLine())
+                    .setParameter("created", progress.created())
+                    .setParameter("restocked", progress.restocked())
+                    .setParameter("rejected", progress.rejected())
+                    .setParameter("completed", progress.completed() ? 1 : 0)
+                    .setParameter("now", LocalDateTime.now())
+                    .setParameter("sourceId", progress.sourceId())
+                    .executeUpdate();
+                if (!rejections.isEmpty()) {
+                    session.doWork(connection -> {
+                        try (PreparedStatement insert = connection.prepareStatement(INSERT_REJECTION)) {
+                            for (CatalogRejection rejection : rejections) {
+                                int parameter = 1;
+                                insert.setString(parameter++, progress.sourceId());
+                                insert.setLong(parameter++, rejection.line());
+                                insert.setString(parameter++, rejection.barcode());
+                                insert.setString(parameter, rejection.reason());
+                                insert.addBatch();
+                            }
+                            insert.executeBatch();
+                        }
+                    });
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to record catalog import progress", e);
+        }
+    }
+
+    @Override
+    public List<CatalogRejection> rejections(String sourceId) {
+        return HibernateUnitOfWork.read(session -> session.createNativeQuery(SELECT_REJECTIONS, Object[].class)
+            .setParameter("sourceId", sourceId)
+            .list()
+            .stream()
+            .map(row -> new CatalogRejection(number(row[0]), (String) row[1], (String) row[2]))
+            .toList());
+    }
+
+    private static long number(Object value) {
+        return ((Number) value).longValue();
+    }
+}
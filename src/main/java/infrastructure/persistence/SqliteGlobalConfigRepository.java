@@ -0,0 +1,35 @@
+package infrastructure.persistence;
+
+import application.interfaces.GlobalConfigRepository;
+import domain.configuration.GlobalConfig;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import java.util.Optional;
+
+public class SqliteGlobalConfigRepository implements GlobalConfigRepository {
+
+    @Override
+    public GlobalConfig save(GlobalConfig config) {
+        try {
+            return HibernateUnitOfWork.write(session -> {
+                if (session.contains(config)) {
+                    return config;
+                }
+                if (config.getCreatedAt() == null) {
+                    session.persist(config);
+                    return config;
+                }
+                return session.merge(config);
+            });
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to save global configuration", e);
+        }
+    }
+
+    @Override
+    public Optional<GlobalConfig> find() {
+        return HibernateUnitOfWork.read(session -> session
+            .createQuery("FROM GlobalConfig c ORDER BY c.createdAt", GlobalConfig.class)
+            .setMaxResults(1)
+            .uniqueResultOptional());
+    }
+}
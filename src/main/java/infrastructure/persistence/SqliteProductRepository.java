@@ -1,54 +1,186 @@
 package infrastructure.persistence;
 
+import application.dtos.ProductCursor;
 import application.interfaces.ProductRepository;
+import domain.common.ConcurrentUpdateException;
+import domain.common.Margin;
 import domain.stock.Barcode;
 import domain.stock.Product;
+import infrastructure.persistence.config.HibernateUnitOfWork;
 import infrastructure.persistence.config.HibernateUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.StatelessSession;
 import org.hibernate.query.Query;
 
 public class SqliteProductRepository implements ProductRepository {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int BARCODES_PER_QUERY = 500;
+    private static final String REPRICE_SQL = "UPDATE products SET marginBasisPoints = :margin, "
+        + "priceCents = (costCents * (:one + :margin) + :one / 2) / :one, version = coalesce(version, 0) + 1 "
+        + "WHERE costCents IS NOT NULL";
+    private static final String SEARCH_SQL = "SELECT product_id FROM products_fts "
+        + "WHERE products_fts MATCH :match ORDER BY rank LIMIT :limit";
+
     @Override
     public Product save(Product product) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.merge(product);
-            transaction.commit();
-            return product;
+        try {
+            return HibernateUnitOfWork.write(session -> {
+                store(session, product);
+                return product;
+            });
+        } catch (ConcurrentUpdateException e) {
+            throw e;
         } catch (RuntimeException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Failed to save product", e);
         }
     }
 
+    /**
+     * Attaches the product to the session without the extra SELECT that {@code merge} needs.
+     * Products loaded in the same unit of work are already managed and get flushed on commit;
+     * never-persisted products are inserted directly; only detached ones go through merge.
+     */
+    private void store(Session session, Product product) {
+        if (session.contains(product)) {
+            return;
+        }
+        if (product.getCreatedAt() == null) {
+            session.persist(product);
+        } else {
+            session.merge(product);
+        }
+    }
+
     @Override
     public Optional<Product> findById(String id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return Optional.ofNullable(session.get(Product.class, id));
-        }
+        return HibernateUnitOfWork.read(session -> Optional.ofNullable(session.get(Product.class, id)));
     }
 
     @Override
     public Optional<Product> findByBarcode(Barcode barcode) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            String hql = "FROM Product p WHERE p.barcode.value = :barcode";
-            Query<Product> query = session.createQuery(hql, Product.class);
-            query.setParameter("barcode", barcode.getValue());
-            return query.uniqueResultOptional();
+        return HibernateUnitOfWork.read(session -> session.bySimpleNaturalId(Product.class).loadOptional(barcode));
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        return HibernateUnitOfWork.read(session -> session.byMultipleIds(Product.class)
+            .multiLoad(new ArrayList<>(ids)).stream()
+            .filter(Objects::nonNull)
+            .toList());
+    }
+
+    @Override
+    public List<Product> findAllByBarcode(Collection<Barcode> barcodes) {
+        if (barcodes.isEmpty()) {
+            return List.of();
+        }
+        List<String> values = barcodes.stream().map(Barcode::getValue).distinct().toList();
+        return HibernateUnitOfWork.read(session -> {
+            List<Product> found = new ArrayList<>();
+            for (int from = 0; from < values.size(); from += BARCODES_PER_QUERY) {
+                found.addAll(session.createQuery("FROM Product p WHERE p.barcode.value IN :values", Product.class)
+                    .setParameter("values", values.subList(from, Math.min(values.size(), from + BARCODES_PER_QUERY)))
+                    .list());
+            }
+            return found;
+        });
     }
 
     @Override
     public List<Product> findAll() {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return session.createQuery("FROM Product", Product.class).list();
+        return HibernateUnitOfWork.read(session -> session.createQuery("FROM Product", Product.class).list());
+    }
+
+    /**
+     * Reprices the whole catalog in a single UPDATE, with the integer formula of {@link Margin#applyTo}
+     * (costs are never negative, so integer division rounds half up). Versions are bumped, so an edit
+     * started before the change has to be reloaded instead of saving a price computed at the old margin.
+     * Products already loaded in the current session are not refreshed.
+     */
+    @Override
+    public int repriceAll(Margin margin) {
+        try {
+            return HibernateUnitOfWork.write(session -> session.createNativeMutationQuery(REPRICE_SQL)
+                .setParameter("margin", margin.basisPoints())
+                .setParameter("one", Margin.ONE)
+                .executeUpdate());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to reprice products", e);
+        }
+    }
+
+    @Override
+    public List<Product> findPage(ProductCursor after, int limit) {
+        return HibernateUnitOfWork.read(session -> {
+            Query<Product> query;
+            if (after == null) {
+                query = session.createQuery("FROM Product p ORDER BY p.name, p.id", Product.class);
+            } else {
+                query = session.createQuery("FROM Product p "
+                    + "WHERE p.name > :name OR (p.name = :name AND p.id > :id) "
+                    + "ORDER BY p.name, p.id", Product.class);
+                query.setParameter("name", after.name());
+                query.setParameter("id", after.id());
+            }
+            return query.setMaxResults(limit).list();
+        });
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        StatelessSession session = HibernateUtil.openReadOnlyStatelessSession();
+        try {
+            return session.createQuery("FROM Product p ORDER BY p.name, p.id", Product.class)
+                .setFetchSize(STREAM_FETCH_SIZE)
+                .stream()
+                .onClose(session::close);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Product> search(String text, int limit) {
+        String match = toPrefixMatch(text);
+        if (match.isEmpty()) {
+            return List.of();
+        }
+        return HibernateUnitOfWork.read(session -> {
+            List<String> ids = session.createNativeQuery(SEARCH_SQL, String.class)
+                .setParameter("match", match)
+                .setParameter("limit", limit)
+                .list();
+            return session.byMultipleIds(Product.class).multiLoad(ids).stream()
+                .filter(Objects::nonNull)
+                .toList();
+        });
+    }
+
+    /**
+     * Turns free text into an FTS5 query where every word must appear as a token prefix,
+     * e.g. {@code yerba 1kg} becomes {@code "yerba"* "1kg"*}. Quotes are stripped so user input
+     * can never break out of its phrase.
+     */
+    private static String toPrefixMatch(String text) {
+        if (text == null) {
+            return "";
         }
+        return Arrays.stream(text.replace("\"", " ").trim().split("\\s+"))
+            .filter(term -> !term.isEmpty())
+            .map(term -> "\"" + term + "\"*")
+            .collect(Collectors.joining(" "));
     }
 }
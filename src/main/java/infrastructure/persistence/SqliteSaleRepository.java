@@ -0,0 +1,33 @@
+package infrastructure.persistence;
+
+import application.interfaces.SaleRepository;
+import domain.salesbox.Sale;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import java.util.Optional;
+import java.util.UUID;
+
+public class SqliteSaleRepository implements SaleRepository {
+
+    @Override
+    public Sale save(Sale sale) {
+        try {
+            return HibernateUnitOfWork.write(session -> {
+                session.persist(sale);
+                return sale;
+            });
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to save sale", e);
+        }
+    }
+
+    @Override
+    public Optional<Sale> findById(String id) {
+        UUID key;
+        try {
+            key = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        return HibernateUnitOfWork.read(session -> Optional.ofNullable(session.get(Sale.class, key)));
+    }
+}
@@ -0,0 +1,24 @@
+package infrastructure.persistence;
+
+import application.interfaces.StockMovementRepository;
+import domain.stock.StockMovement;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import java.util.List;
+
+public class SqliteStockMovementRepository implements StockMovementRepository {
+
+    @Override
+    public void append(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        try {
+            HibernateUnitOfWork.write(session -> {
+                movements.forEach(session::persist);
+                return movements.size();
+            });
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to append stock movements", e);
+        }
+    }
+}
@@ -2,44 +2,38 @@ package infrastructure.persistence;
 
 import application.interfaces.UserRepository;
 import domain.users.User;
-import infrastructure.persistence.config.HibernateUtil;
+import infrastructure.persistence.config.HibernateUnitOfWork;
 import java.util.Optional;
-import org.hibernate.Session;
-import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
 public class SqliteUserRepository implements UserRepository {
 
     @Override
     public User save(User user) {
-        Transaction transaction = null;
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            transaction = session.beginTransaction();
-            session.merge(user);
-            transaction.commit();
-            return user;
+        try {
+            return HibernateUnitOfWork.write(session -> {
+                if (!session.contains(user)) {
+                    session.merge(user);
+                }
+                return user;
+            });
         } catch (RuntimeException e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
             throw new RuntimeException("Failed to save user", e);
         }
     }
 
     @Override
     public Optional<User> findById(String id) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
-            return Optional.ofNullable(session.get(User.class, id));
-        }
+        return HibernateUnitOfWork.read(session -> Optional.ofNullable(session.get(User.class, id)));
     }
 
     @Override
     public Optional<User> findByUsername(String username) {
-        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+        return HibernateUnitOfWork.read(session -> {
             String hql = "FROM User u WHERE u.username = :username";
             Query<User> query = session.createQuery(hql, User.class);
             query.setParameter("username", username);
             return query.uniqueResultOptional();
-        }
+        });
     }
 }
@@ -0,0 +1,88 @@
+package infrastructure.persistence;
+
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Periodically folds the stock ledger into per-product snapshots.
+ * <p>
+ * A snapshot stores the stock of a product up to a ledger position (the {@code ledgerPosition} of the
+ * last movement it includes, an integer key that only grows and survives {@code VACUUM}), so reading the
+ * current stock only has to add the movements appended since then. Snapshotting never changes the stock a
+ * product reports; it only bounds how many movements each read has to sum.
+ * </p>
+ */
+public class StockSnapshotJob {
+
+    private static final Logger LOGGER = Logger.getLogger(StockSnapshotJob.class.getName());
+
+    private static final String SNAPSHOT_SQL = "INSERT INTO stock_snapshots "
+        + "(productId, quantityThousandths, lastLedgerPosition, takenAt) "
+        + "SELECT m.productId, coalesce(s.quantityThousandths, 0) + sum(m.deltaThousandths), "
+        + "max(m.ledgerPosition), :takenAt "
+        + "FROM stock_movements m LEFT JOIN stock_snapshots s ON s.productId = m.productId "
+        + "WHERE m.ledgerPosition > coalesce(s.lastLedgerPosition, 0) "
+        + "GROUP BY m.productId "
+        + "ON CONFLICT(productId) DO UPDATE SET quantityThousandths = excluded.quantityThousandths, "
+        + "lastLedgerPosition = excluded.lastLedgerPosition, takenAt = excluded.takenAt";
+
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+
+    public StockSnapshotJob(Duration interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Snapshots every product with movements newer than its last snapshot.
+     *
+     * @return the number of snapshots written
+     */
+    public int runOnce() {
+        try {
+            return HibernateUnitOfWork.write(session -> session.createNativeMutationQuery(SNAPSHOT_SQL)
+                .setParameter("takenAt", LocalDateTime.now())
+                .executeUpdate());
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to snapshot stock", e);
+        }
+    }
+
+    /**
+     * Starts taking snapshots in the background, once per interval.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "storeflow-stock-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::runScheduled, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runScheduled() {
+        try {
+            int written = runOnce();
+            LOGGER.fine(() -> "Stock snapshots written: " + written);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Stock snapshot failed; will retry on the next run", e);
+        }
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package infrastructure.persistence.cache;
+
+import application.dtos.ProductCursor;
+import application.interfaces.ProductRepository;
+import domain.common.Margin;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.ProductSnapshot;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read-through near-cache in front of another {@link ProductRepository}.
+ * <p>
+ * Barcode and id lookups made outside a unit of work are answered from a {@link ProductSnapshotCache}
+ * and handed out as fresh detached products, so callers never share mutable instances. Inside a unit
+ * of work lookups go to the delegate, keeping the entities managed by that session.
+ * Saves invalidate the product once the surrounding transaction has committed.
+ * </p>
+ */
+public class CachingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final ProductSnapshotCache cache;
+
+    public CachingProductRepository(ProductRepository delegate, ProductSnapshotCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        String id = product.getId();
+        String barcode = product.getBarcode().getValue();
+        HibernateUnitOfWork.afterCommit(() -> cache.invalidate(id, barcode));
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        if (HibernateUnitOfWork.isActive()) {
+            return delegate.findById(id);
+        }
+        Optional<ProductSnapshot> cached = cache.getById(id);
+        if (cached.isPresent()) {
+            return cached.map(Product::restore);
+        }
+        long generation = cache.generation();
+        Optional<Product> loaded = delegate.findById(id);
+        loaded.ifPresent(product -> cache.putIfCurrent(product.snapshot(), generation));
+        return loaded;
+    }
+
+    @Override
+    public Optional<Product> findByBarcode(Barcode barcode) {
+        if (HibernateUnitOfWork.isActive()) {
+            return delegate.findByBarcode(barcode);
+        }
+        Optional<ProductSnapshot> cached = cache.getByBarcode(barcode.getValue());
+        if (cached.isPresent()) {
+            return cached.map(Product::restore);
+        }
+        long generation = cache.generation();
+        Optional<Product> loaded = delegate.findByBarcode(barcode);
+        loaded.ifPresent(product -> cache.putIfCurrent(product.snapshot(), generation));
+        return loaded;
+    }
+
+    /**
+     * Loads the first page of the catalog into the cache, so the first scans after startup do not each
+     * wait for the database.
+     *
+     * @param limit the number of products to load
+     * @return the number of products cached
+     */
+    public int warmUp(int limit) {
+        long generation = cache.generation();
+        List<Product> page = delegate.findPage(null, limit);
+        page.forEach(product -> cache.putIfCurrent(product.snapshot(), generation));
+        return page.size();
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<String> ids) {
+        if (HibernateUnitOfWork.isActive()) {
+            return delegate.findAllById(ids);
+        }
+        return ProductRepository.super.findAllById(ids);
+    }
+
+    /**
+     * Always asks the delegate: bulk lookups come from imports touching many products once, which would
+     * only evict the products the tills keep scanning.
+     */
+    @Override
+    public List<Product> findAllByBarcode(Collection<Barcode> barcodes) {
+        return delegate.findAllByBarcode(barcodes);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public int repriceAll(Margin margin) {
+        int repriced = delegate.repriceAll(margin);
+        HibernateUnitOfWork.afterCommit(cache::clear);
+        return repriced;
+    }
+
+    @Override
+    public List<Product> findPage(ProductCursor after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<Product> search(String text, int limit) {
+        return delegate.search(text, limit);
+    }
+}
@@ -0,0 +1,170 @@
+package infrastructure.persistence.cache;
+
+import domain.stock.ProductSnapshot;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, least-recently-used index of product snapshots keyed by barcode.
+ * <p>
+ * Holds plain {@link ProductSnapshot} records instead of Hibernate entities, plus an id to barcode
+ * side index so a product can be evicted even after its barcode changed.
+ * </p>
+ * <p>
+ * Lookups take no lock, so concurrent scans at several tills never wait for each other: they read the
+ * concurrent maps and stamp the entry with a tick of an access clock. Writes are serialized by a lock.
+ * Recency is therefore approximate: there is no access-ordered list, and when the cache overflows, one
+ * pass over the entries drops the ones with the oldest ticks. From ten entries up, the pass drops a tenth of
+ * the cache at once, so its cost is shared by the loads that follow.
+ * </p>
+ * <p>
+ * Loads and invalidations race through a generation counter: a loader remembers the generation
+ * before querying and only publishes its result if no invalidation happened meanwhile, so a slow
+ * read can never put back state that a concurrent save already replaced.
+ * </p>
+ */
+public class ProductSnapshotCache {
+
+    private static final int EVICTION_BATCH_DIVISOR = 10;
+
+    private final int maxEntries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<String, String> barcodeById = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byBarcode = new ConcurrentHashMap<>();
+
+    public ProductSnapshotCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than zero");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<ProductSnapshot> getByBarcode(String barcode) {
+        return Optional.ofNullable(byBarcode.get(barcode)).map(this::touch);
+    }
+
+    public Optional<ProductSnapshot> getById(String id) {
+        String barcode = barcodeById.get(id);
+        if (barcode == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byBarcode.get(barcode))
+            .filter(entry -> entry.snapshot.id().equals(id))
+            .map(this::touch);
+    }
+
+    /**
+     * Publishes a snapshot loaded from storage, unless an invalidation happened since the load started.
+     *
+     * @param snapshot          the loaded state
+     * @param loadedAtGeneration the value of {@link #generation()} read before querying storage
+     */
+    public void putIfCurrent(ProductSnapshot snapshot, long loadedAtGeneration) {
+        lock.lock();
+        try {
+            if (generation.get() != loadedAtGeneration) {
+                return;
+            }
+            removeById(snapshot.id());
+            removeByBarcode(snapshot.barcode());
+            byBarcode.put(snapshot.barcode(), new Entry(snapshot, clock.incrementAndGet()));
+            barcodeById.put(snapshot.id(), snapshot.barcode());
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every entry related to a product: its current barcode and whatever barcode it had before.
+     *
+     * @param id      the product id
+     * @param barcode the product's current barcode
+     */
+    public void invalidate(String id, String barcode) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            removeById(id);
+            removeByBarcode(barcode);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            byBarcode.clear();
+            barcodeById.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return byBarcode.size();
+    }
+
+    private ProductSnapshot touch(Entry entry) {
+        entry.lastAccess = clock.incrementAndGet();
+        return entry.snapshot;
+    }
+
+    private void removeById(String id) {
+        String previousBarcode = barcodeById.remove(id);
+        if (previousBarcode != null) {
+            byBarcode.remove(previousBarcode);
+        }
+    }
+
+    private void removeByBarcode(String barcode) {
+        Entry previous = byBarcode.remove(barcode);
+        if (previous != null) {
+            barcodeById.remove(previous.snapshot.id());
+        }
+    }
+
+    private void evictOverflow() {
+        int overflow = byBarcode.size() - maxEntries;
+        if (overflow <= 0) {
+            return;
+        }
+        int toEvict = overflow + maxEntries / EVICTION_BATCH_DIVISOR;
+        long[] ticks = byBarcode.values().stream().mapToLong(entry -> entry.lastAccess).sorted().toArray();
+        long newestEvicted = ticks[Math.min(toEvict, ticks.length) - 1];
+        Iterator<Entry> entries = byBarcode.values().iterator();
+        while (entries.hasNext() && toEvict > 0) {
+            Entry entry = entries.next();
+            if (entry.lastAccess <= newestEvicted) {
+                entries.remove();
+                barcodeById.remove(entry.snapshot.id());
+                toEvict--;
+            }
+        }
+    }
+
+    /**
+     * A cached snapshot and the clock tick of its last lookup.
+     */
+    private static final class Entry {
+        private final ProductSnapshot snapshot;
+        private volatile long lastAccess;
+
+        Entry(ProductSnapshot snapshot, long lastAccess) {
+            this.snapshot = snapshot;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
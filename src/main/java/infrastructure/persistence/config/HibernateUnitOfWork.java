@@ -0,0 +1,136 @@
+package infrastructure.persistence.config;
+
+import application.interfaces.UnitOfWork;
+import domain.common.ConcurrentUpdateException;
+import infrastructure.metrics.TransactionCommitEvent;
+import jakarta.persistence.OptimisticLockException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.hibernate.Session;
+import org.hibernate.StaleStateException;
+import org.hibernate.Transaction;
+
+/**
+ * Hibernate implementation of {@link UnitOfWork}.
+ * <p>
+ * Binds one writer session to the current thread for the duration of the work. Repositories use
+ * {@link #read(Function)} and {@link #write(Function)}, which join that session when present and
+ * otherwise fall back to a short-lived session of their own.
+ * </p>
+ * <p>
+ * A commit rejected by a version check surfaces as a {@link ConcurrentUpdateException}, whatever
+ * repository wrapped the Hibernate exception on its way out. Each commit is emitted as a
+ * {@link TransactionCommitEvent} for Flight Recorder.
+ * </p>
+ */
+public class HibernateUnitOfWork implements UnitOfWork {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Runs a read against the active unit of work, or against a read-only session if there is none.
+     *
+     * @param work the query to run
+     * @param <T>  the result type
+     * @return the query result
+     */
+    public static <T> T read(Function<Session, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+        try (Session session = HibernateUtil.openReadOnlySession()) {
+            return work.apply(session);
+        }
+    }
+
+    /**
+     * Runs a write against the active unit of work, or in its own transaction if there is none.
+     *
+     * @param work the changes to apply
+     * @param <T>  the result type
+     * @return the work result
+     */
+    public static <T> T write(Function<Session, T> work) {
+        Session current = CURRENT.get();
+        if (current != null) {
+            return work.apply(current);
+        }
+        return inNewTransaction(() -> work.apply(CURRENT.get()));
+    }
+
+    /**
+     * Registers an action to run once the active unit of work commits.
+     * Without an active unit of work the action runs immediately. Actions are dropped on rollback.
+     *
+     * @param action the action to run after commit
+     */
+    public static void afterCommit(Runnable action) {
+        if (CURRENT.get() == null) {
+            action.run();
+        } else {
+            AFTER_COMMIT.get().add(action);
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    @Override
+    public <T> T execute(Supplier<T> work) {
+        if (CURRENT.get() != null) {
+            return work.get();
+        }
+        return inNewTransaction(work);
+    }
+
+    private static <T> T inNewTransaction(Supplier<T> work) {
+        Session session = HibernateUtil.getSessionFactory().openSession();
+        CURRENT.set(session);
+        Transaction transaction = null;
+        try {
+            transaction = session.beginTransaction();
+            T result = work.get();
+            commit(session, transaction);
+            CURRENT.remove();
+            AFTER_COMMIT.get().forEach(Runnable::run);
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw translate(e);
+        } finally {
+            CURRENT.remove();
+            AFTER_COMMIT.remove();
+            session.close();
+        }
+    }
+
+    private static void commit(Session session, Transaction transaction) {
+        TransactionCommitEvent event = new TransactionCommitEvent();
+        int entities = event.isEnabled() ? session.getStatistics().getEntityCount() : 0;
+        event.begin();
+        boolean committed = false;
+        try {
+            transaction.commit();
+            committed = true;
+        } finally {
+            event.end(entities, committed);
+        }
+    }
+
+    private static RuntimeException translate(RuntimeException failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException || cause instanceof StaleStateException) {
+                return new ConcurrentUpdateException(
+                    "The data was modified by another user. Reload it and try again.", failure);
+            }
+        }
+        return failure;
+    }
+}
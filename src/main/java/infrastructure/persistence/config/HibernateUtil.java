@@ -1,13 +1,21 @@
 package infrastructure.persistence.config;
 
 import domain.configuration.GlobalConfig;
+import domain.salesbox.Sale;
 import domain.stock.Product;
+import domain.stock.StockMovement;
 import domain.users.User;
+import infrastructure.persistence.converters.MarginConverter;
+import infrastructure.persistence.converters.MoneyConverter;
+import infrastructure.persistence.converters.QuantityConverter;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 
 /**
  * Utility class to bootstrap Hibernate SessionFactory.
@@ -15,8 +23,10 @@ import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
  */
 public final class HibernateUtil {
 
+    private static final String SETTINGS_PREFIX = "hibernate.";
+
     private static StandardServiceRegistry registry;
-    private static SessionFactory sessionFactory;
+    private static volatile SessionFactory sessionFactory;
 
     private HibernateUtil() {
         throw new UnsupportedOperationException("Utility class");
@@ -25,13 +35,29 @@ public final class HibernateUtil {
     /**
      * Builds and provides the Hibernate SessionFactory.
      * If it has already been created, it returns the existing instance.
+     * <p>
+     * Settings come from {@code hibernate.cfg.xml}; any {@code hibernate.*} system property overrides
+     * the value of the same name, e.g. {@code -Dhibernate.connection.url=jdbc:sqlite:/data/other.db}.
+     * The schema is brought up to date by {@link SchemaMigrator} before the factory is built.
+     * </p>
+     * <p>
+     * Safe to call from several threads: the application starts building it in the background while
+     * the login window is up, and any other caller waits for that build instead of starting another.
+     * </p>
      *
      * @return the singleton SessionFactory instance
      */
     public static SessionFactory getSessionFactory() {
+        SessionFactory current = sessionFactory;
+        return current != null ? current : build();
+    }
+
+    private static synchronized SessionFactory build() {
         if (sessionFactory == null) {
+            SqliteConnectionPool.routeTo(SqliteConnectionPool.Route.UNPOOLED);
             try {
-                registry = new StandardServiceRegistryBuilder().configure().build();
+                registry = buildRegistry();
+                SchemaMigrator.migrate(registry.getService(ConnectionProvider.class));
 
                 MetadataSources sources = new MetadataSources(registry);
 
@@ -39,6 +65,11 @@ public final class HibernateUtil {
                 sources.addAnnotatedClass(User.class);
                 sources.addAnnotatedClass(Product.class);
                 sources.addAnnotatedClass(GlobalConfig.class);
+                sources.addAnnotatedClass(StockMovement.class);
+                sources.addAnnotatedClass(Sale.class);
+                sources.addAnnotatedClass(QuantityConverter.class);
+                sources.addAnnotatedClass(MoneyConverter.class);
+                sources.addAnnotatedClass(MarginConverter.class);
 
                 Metadata metadata = sources.getMetadataBuilder().build();
                 sessionFactory = metadata.getSessionFactoryBuilder().build();
@@ -46,16 +77,69 @@ public final class HibernateUtil {
             } catch (RuntimeException e) {
                 if (registry != null) {
                     StandardServiceRegistryBuilder.destroy(registry);
+                    registry = null;
                 }
                 throw new RuntimeException("Failed to initialize Hibernate", e);
+            } finally {
+                SqliteConnectionPool.routeTo(SqliteConnectionPool.Route.WRITER);
             }
         }
         return sessionFactory;
     }
 
-    public static void shutdown() {
+    private static StandardServiceRegistry buildRegistry() {
+        StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder().configure();
+        System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith(SETTINGS_PREFIX))
+            .forEach(name -> builder.applySetting(name, System.getProperty(name)));
+        return builder.build();
+    }
+
+    /**
+     * Opens a session bound to one of the pooled read-only connections.
+     * Entities loaded through it are read-only, so Hibernate skips dirty-checking snapshots.
+     *
+     * @return a new read-only session; the caller is responsible for closing it
+     */
+    public static Session openReadOnlySession() {
+        SessionFactory factory = getSessionFactory();
+        SqliteConnectionPool.routeTo(SqliteConnectionPool.Route.READER);
+        try {
+            Session session = factory.openSession();
+            session.setDefaultReadOnly(true);
+            return session;
+        } finally {
+            SqliteConnectionPool.routeTo(SqliteConnectionPool.Route.WRITER);
+        }
+    }
+
+    /**
+     * Opens a stateless session bound to one of the pooled read-only connections.
+     * Nothing is kept in a persistence context, which suits scrolling over large result sets.
+     *
+     * @return a new stateless session; the caller is responsible for closing it
+     */
+    public static StatelessSession openReadOnlyStatelessSession() {
+        SessionFactory factory = getSessionFactory();
+        SqliteConnectionPool.routeTo(SqliteConnectionPool.Route.READER);
+        try {
+            return factory.openStatelessSession();
+        } finally {
+            SqliteConnectionPool.routeTo(SqliteConnectionPool.Route.WRITER);
+        }
+    }
+
+    /**
+     * Closes the SessionFactory and its connections. A later {@link #getSessionFactory()} builds a new one.
+     */
+    public static synchronized void shutdown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
         if (registry != null) {
             StandardServiceRegistryBuilder.destroy(registry);
         }
+        registry = null;
+        sessionFactory = null;
     }
 }
@@ -0,0 +1,99 @@
+package infrastructure.persistence.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Brings a database created before schema migrations, when Hibernate's {@code hbm2ddl=update} managed
+ * the tables, up to the baseline migration.
+ * <p>
+ * Such databases may lack columns added since they were created, and older ones still keep stock in
+ * {@code products.stockQuantity} and amounts as decimals. {@link #prepare} adds the missing columns before
+ * the baseline runs (its {@code CREATE ... IF NOT EXISTS} statements leave existing tables alone), and
+ * {@link #complete} moves the legacy values into the current columns afterwards. The legacy columns are kept
+ * but no longer written, until a later migration rebuilds their table.
+ * </p>
+ */
+final class LegacySchema {
+
+    private static final LegacyColumn DECIMAL_SNAPSHOTS = new LegacyColumn("stock_snapshots", "quantity",
+        "DROP TABLE stock_snapshots");
+
+    private static final List<MissingColumn> ADDED_COLUMNS = List.of(
+        new MissingColumn("products", "costCents", "bigint"),
+        new MissingColumn("products", "version", "bigint"),
+        new MissingColumn("stock_movements", "deltaThousandths", "bigint")
+    );
+
+    private static final List<LegacyColumn> BACKFILLS = List.of(
+        new LegacyColumn("products", "stockQuantity", "INSERT OR IGNORE INTO stock_snapshots "
+            + "(productId, quantityThousandths, lastMovementRowid, takenAt) "
+            + "SELECT id, CAST(round(stockQuantity * 1000) AS INTEGER), 0, createdAt FROM products "
+            + "WHERE stockQuantity IS NOT NULL"),
+        new LegacyColumn("products", "cost", "UPDATE products SET costCents = CAST(round(cost * 100) AS INTEGER) "
+            + "WHERE costCents IS NULL AND cost IS NOT NULL"),
+        new LegacyColumn("stock_movements", "delta", "UPDATE stock_movements "
+            + "SET deltaThousandths = CAST(round(delta * 1000) AS INTEGER) "
+            + "WHERE deltaThousandths IS NULL AND delta IS NOT NULL"),
+        new LegacyColumn("products", "version", "UPDATE products SET version = 0 WHERE version IS NULL")
+    );
+
+    private LegacySchema() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Tells whether the database already has tables although no migration was ever recorded.
+     *
+     * @param connection the migration connection
+     * @return true for a database created by {@code hbm2ddl}
+     * @throws SQLException if the catalog cannot be read
+     */
+    static boolean isPresent(Connection connection) throws SQLException {
+        return hasColumn(connection, "products", "id");
+    }
+
+    static void prepare(Connection connection, Statement statement) throws SQLException {
+        applyIfPresent(connection, statement, DECIMAL_SNAPSHOTS);
+        for (MissingColumn added : ADDED_COLUMNS) {
+            if (hasColumn(connection, added.table(), "id") && !hasColumn(connection, added.table(), added.column())) {
+                statement.execute("ALTER TABLE " + added.table() + " ADD COLUMN " + added.column() + " "
+                    + added.type());
+            }
+        }
+    }
+
+    static void complete(Connection connection, Statement statement) throws SQLException {
+        for (LegacyColumn backfill : BACKFILLS) {
+            applyIfPresent(connection, statement, backfill);
+        }
+    }
+
+    private static void applyIfPresent(Connection connection, Statement statement, LegacyColumn legacy)
+        throws SQLException {
+        if (hasColumn(connection, legacy.table(), legacy.column())) {
+            statement.execute(legacy.sql());
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+            return columns.next();
+        }
+    }
+
+    /**
+     * A statement that only applies to databases still having a column from an older schema.
+     */
+    private record LegacyColumn(String table, String column, String sql) {
+    }
+
+    /**
+     * A column added to an entity after some databases were created.
+     */
+    private record MissingColumn(String table, String column, String type) {
+    }
+}
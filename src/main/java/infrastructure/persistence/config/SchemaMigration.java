@@ -0,0 +1,135 @@
+package infrastructure.persistence.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One SQL script under {@code db/migration}, named {@code V<version>__<description>.sql}.
+ * <p>
+ * The checksum is the SHA-256 of the script with line endings normalized, so a checkout with CRLF endings
+ * does not count as a change but any edit to a statement or comment does.
+ * </p>
+ *
+ * @param version     the position of the script in the history, starting at 1
+ * @param description what the script does, from its file name
+ * @param script      the SQL, statements separated by semicolons
+ * @param checksum    the hex SHA-256 of the script
+ */
+record SchemaMigration(int version, String description, String script, String checksum) {
+
+    private static final String LOCATION = "db/migration/";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern TRIGGER = Pattern.compile("CREATE\\s+(TEMP\\s+|TEMPORARY\\s+)?TRIGGER\\b");
+    private static final Pattern TRIGGER_END = Pattern.compile("\\bEND$");
+    private static final String LINE_COMMENT = "--";
+    private static final String BLOCK_COMMENT_START = "/*";
+    private static final String BLOCK_COMMENT_END = "*/";
+
+    /**
+     * Reads a migration script from the classpath.
+     *
+     * @param fileName the script file name, e.g. {@code V1__baseline.sql}
+     * @return the migration
+     * @throws IllegalStateException if the name does not follow the convention or the script is missing
+     */
+    static SchemaMigration load(String fileName) {
+        Matcher name = FILE_NAME.matcher(fileName);
+        if (!name.matches()) {
+            throw new IllegalStateException("Migration " + fileName + " is not named V<version>__<description>.sql");
+        }
+        String script = read(LOCATION + fileName).replace("\r\n", "\n");
+        return new SchemaMigration(Integer.parseInt(name.group(1)), name.group(2).replace('_', ' '), script,
+            sha256(script));
+    }
+
+    private static String read(String resource) {
+        try (InputStream in = SchemaMigration.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing migration script " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read migration script " + resource, e);
+        }
+    }
+
+    private static String sha256(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Splits the script into statements, reading it one character at a time so several statements may share
+     * a line. Comments are dropped, and semicolons inside string literals, quoted identifiers or the
+     * {@code BEGIN ... END} body of a trigger do not end a statement.
+     *
+     * @return the statements, without their trailing semicolon
+     */
+    List<String> statements() {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '\'' || c == '"') {
+                int end = endOfQuoted(i);
+                current.append(script, i, end);
+                i = end;
+            } else if (script.startsWith(LINE_COMMENT, i)) {
+                i = endOfLineComment(i);
+            } else if (script.startsWith(BLOCK_COMMENT_START, i)) {
+                current.append(' ');
+                i = endOfBlockComment(i);
+            } else if (c == ';' && !insideTriggerBody(current)) {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private int endOfQuoted(int start) {
+        int end = script.indexOf(script.charAt(start), start + 1);
+        return end < 0 ? script.length() : end + 1;
+    }
+
+    private int endOfLineComment(int start) {
+        int end = script.indexOf('\n', start);
+        return end < 0 ? script.length() : end;
+    }
+
+    private int endOfBlockComment(int start) {
+        int end = script.indexOf(BLOCK_COMMENT_END, start + BLOCK_COMMENT_START.length());
+        return end < 0 ? script.length() : end + BLOCK_COMMENT_END.length();
+    }
+
+    private static boolean insideTriggerBody(StringBuilder statement) {
+        String upper = statement.toString().strip().toUpperCase(Locale.ROOT);
+        return TRIGGER.matcher(upper).lookingAt() && !TRIGGER_END.matcher(upper).find();
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder statement) {
+        String sql = statement.toString().strip();
+        if (!sql.isEmpty()) {
+            statements.add(sql);
+        }
+        statement.setLength(0);
+    }
+}
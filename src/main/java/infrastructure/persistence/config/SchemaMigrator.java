@@ -0,0 +1,163 @@
+package infrastructure.persistence.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+/**
+ * Creates and evolves the database schema from the versioned SQL scripts under {@code db/migration}.
+ * <p>
+ * Applied versions are recorded in {@code schema_history} with the checksum of their script. At startup the
+ * history is read once; scripts already applied are only verified, and the pending ones run in order in a
+ * single transaction together with their history rows, so a failing script leaves the database at the
+ * version it had. A script edited after it was applied, or a database migrated by a newer build, stops the
+ * startup instead of silently running against a schema the code does not expect.
+ * </p>
+ * <p>
+ * To change the schema, add a new {@code V<n+1>__<description>.sql} and list it in {@link #SCRIPTS};
+ * never edit a script that has shipped.
+ * </p>
+ */
+final class SchemaMigrator {
+
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+
+    private static final List<String> SCRIPTS = List.of(
+        "V1__baseline.sql",
+        "V2__lookup_indexes.sql",
+        "V3__time_ordered_ids.sql",
+        "V4__catalog_imports.sql",
+        "V5__sale_prices.sql",
+        "V6__ledger_positions.sql",
+        "V7__stable_product_keys.sql",
+        "V8__compact_ledger_and_sale_ids.sql"
+    );
+
+    private static final int BASELINE = 1;
+
+    private static final String CREATE_HISTORY = "CREATE TABLE IF NOT EXISTS schema_history ("
+        + "version INTEGER PRIMARY KEY, description TEXT NOT NULL, checksum TEXT NOT NULL, "
+        + "appliedAt TIMESTAMP NOT NULL, executionMillis INTEGER NOT NULL)";
+    private static final String SELECT_HISTORY = "SELECT version, checksum FROM schema_history";
+    private static final String INSERT_HISTORY = "INSERT INTO schema_history "
+        + "(version, description, checksum, appliedAt, executionMillis) VALUES (?, ?, ?, ?, ?)";
+
+    private SchemaMigrator() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Applies the pending migrations on a connection of its own.
+     *
+     * @param connections the connection provider of the registry being built
+     * @throws IllegalStateException if the history does not match the scripts or a script fails
+     */
+    static void migrate(ConnectionProvider connections) {
+        List<SchemaMigration> migrations = SCRIPTS.stream().map(SchemaMigration::load).toList();
+        try {
+            Connection connection = connections.getConnection();
+            try {
+                migrate(connection, migrations);
+            } finally {
+                connections.closeConnection(connection);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to migrate the database schema", e);
+        }
+    }
+
+    private static void migrate(Connection connection, List<SchemaMigration> migrations) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_HISTORY);
+            Map<Integer, String> applied = readHistory(statement);
+            verify(applied, migrations);
+
+            boolean legacy = applied.isEmpty() && LegacySchema.isPresent(connection);
+            List<SchemaMigration> pending = migrations.stream()
+                .filter(migration -> !applied.containsKey(migration.version()))
+                .toList();
+            for (SchemaMigration migration : pending) {
+                apply(connection, statement, migration, legacy);
+            }
+            connection.commit();
+            if (!pending.isEmpty()) {
+                LOGGER.info(() -> "Database schema migrated to V" + pending.get(pending.size() - 1).version()
+                    + " (" + pending.size() + " migrations" + (legacy ? ", adopted from hbm2ddl" : "") + ")");
+            }
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static Map<Integer, String> readHistory(Statement statement) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (ResultSet rows = statement.executeQuery(SELECT_HISTORY)) {
+            while (rows.next()) {
+                applied.put(rows.getInt(1), rows.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void verify(Map<Integer, String> applied, List<SchemaMigration> migrations) {
+        for (SchemaMigration migration : migrations) {
+            String checksum = applied.get(migration.version());
+            if (checksum != null && !checksum.equals(migration.checksum())) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                    + ") was changed after it was applied; add a new migration instead");
+            }
+        }
+        int latest = migrations.get(migrations.size() - 1).version();
+        applied.keySet().stream().filter(version -> version > latest).findAny().ifPresent(version -> {
+            throw new IllegalStateException("Database schema is at V" + version
+                + ", newer than the V" + latest + " this version of the application knows");
+        });
+    }
+
+    private static void apply(Connection connection, Statement statement, SchemaMigration migration,
+        boolean legacy) throws SQLException {
+        long started = System.nanoTime();
+        boolean adoptsLegacy = legacy && migration.version() == BASELINE;
+        if (adoptsLegacy) {
+            LegacySchema.prepare(connection, statement);
+        }
+        for (String sql : migration.statements()) {
+            try {
+                statement.execute(sql);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Migration V" + migration.version() + " (" + migration.description()
+                    + ") failed at: " + sql, e);
+            }
+        }
+        if (adoptsLegacy) {
+            LegacySchema.complete(connection, statement);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        try (PreparedStatement history = connection.prepareStatement(INSERT_HISTORY)) {
+            int parameter = 1;
+            history.setInt(parameter++, migration.version());
+            history.setString(parameter++, migration.description());
+            history.setString(parameter++, migration.checksum());
+            history.setTimestamp(parameter++, Timestamp.from(Instant.now()));
+            history.setLong(parameter, millis);
+            history.executeUpdate();
+        }
+        LOGGER.fine(() -> "Ran migration V" + migration.version() + " (" + migration.description() + ") in "
+            + millis + " ms");
+    }
+}
@@ -0,0 +1,246 @@
+package infrastructure.persistence.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Traces the SQL run on the pooled SQLite connections, in place of Hibernate's {@code show_sql}.
+ * <p>
+ * Nothing is written on the calling thread, which is often the FX thread. A statement slower than the slow
+ * threshold is always logged at WARNING, a random sample of the others at INFO; the lines are queued and
+ * written by a background thread, and dropped (and counted) if it cannot keep up. Every statement is also
+ * aggregated by its SQL text, so the statements that cost the most in total can be dumped at any time over JMX
+ * and are logged when the pool stops.
+ * </p>
+ * <p>
+ * Settings, read from {@code hibernate.cfg.xml} or {@code -Dhibernate.storeflow.sql.trace.*}:
+ * {@code sample_rate} (fraction of statements logged, default 0.01), {@code slow_ms} (default 100) and
+ * {@code top} (statements logged at shutdown, default 20).
+ * </p>
+ */
+public class SqlTrace implements SqlTraceMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(SqlTrace.class.getName());
+    private static final String SETTINGS_PREFIX = "hibernate.storeflow.sql.trace.";
+    private static final String OBJECT_NAME = "storeflow:type=SqlTrace";
+    private static final String DEFAULT_SAMPLE_RATE = "0.01";
+    private static final String DEFAULT_SLOW_MS = "100";
+    private static final String DEFAULT_TOP = "20";
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int MAX_STATEMENTS = 2000;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final long WRITER_STOP_MILLIS = 1000;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final BlockingQueue<TraceLine> lines = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final int shutdownTop;
+    private final Thread writer;
+    private volatile double sampleRate;
+    private volatile long slowNanos;
+
+    SqlTrace(double sampleRate, long slowMillis, int shutdownTop) {
+        setSampleRate(sampleRate);
+        setSlowThresholdMillis(slowMillis);
+        this.shutdownTop = shutdownTop;
+        this.writer = new Thread(this::writeLines, "storeflow-sql-trace");
+        writer.setDaemon(true);
+    }
+
+    /**
+     * Creates the trace from the Hibernate settings, starts its writer and registers its MBean.
+     *
+     * @param settings the Hibernate configuration values
+     * @return the running trace
+     */
+    static SqlTrace start(Map<String, Object> settings) {
+        SqlTrace trace = new SqlTrace(Double.parseDouble(setting(settings, "sample_rate", DEFAULT_SAMPLE_RATE)),
+            Long.parseLong(setting(settings, "slow_ms", DEFAULT_SLOW_MS)),
+            Integer.parseInt(setting(settings, "top", DEFAULT_TOP)));
+        trace.writer.start();
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(trace, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Could not register the SQL trace MBean", e);
+        }
+        return trace;
+    }
+
+    private static String setting(Map<String, Object> settings, String key, String defaultValue) {
+        Object value = settings.get(SETTINGS_PREFIX + key);
+        return value == null ? defaultValue : value.toString().trim();
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param kind    query, update, batch or commit
+     * @param sql     the SQL, or {@code null} for a commit
+     * @param nanos   how long it took
+     * @param failure what it threw, or {@code null}
+     */
+    void record(String kind, String sql, long nanos, Throwable failure) {
+        String key = sql != null ? sql : kind.toUpperCase(Locale.ROOT);
+        statementStats(key).add(nanos);
+
+        boolean slow = nanos >= slowNanos;
+        if (slow || failure != null || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            TraceLine line = new TraceLine(slow || failure != null, kind, key, nanos,
+                Thread.currentThread().getName(), failure);
+            if (!lines.offer(line)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private StatementStats statementStats(String key) {
+        StatementStats stats = statements.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        String bounded = statements.size() < MAX_STATEMENTS ? key : OTHER_STATEMENTS;
+        return statements.computeIfAbsent(bounded, sql -> new StatementStats());
+    }
+
+    private void writeLines() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                write(lines.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void write(TraceLine line) {
+        String message = String.format(Locale.ROOT, "SQL %.2f ms [%s] on %s: %s", line.nanos() / NANOS_PER_MILLI,
+            line.kind(), line.thread(), line.sql());
+        if (line.failure() != null) {
+            LOGGER.log(Level.WARNING, message, line.failure());
+        } else {
+            LOGGER.log(line.slow() ? Level.WARNING : Level.INFO, message);
+        }
+    }
+
+    /**
+     * Stops the writer after flushing the queued lines, logs the top statements and unregisters the MBean.
+     * The writer is given a moment to finish the line it is writing, so the remaining lines are written
+     * after it, on the calling thread, instead of interleaved with it.
+     */
+    void stop() {
+        writer.interrupt();
+        try {
+            writer.join(WRITER_STOP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        TraceLine line;
+        while ((line = lines.poll()) != null) {
+            write(line);
+        }
+        if (shutdownTop > 0 && !statements.isEmpty()) {
+            dumpTopStatements(shutdownTop);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            LOGGER.log(Level.FINE, "SQL trace MBean was not registered", e);
+        }
+    }
+
+    @Override
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    @Override
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+    }
+
+    @Override
+    public long getSlowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowNanos);
+    }
+
+    @Override
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, slowThresholdMillis));
+    }
+
+    @Override
+    public long getDroppedLines() {
+        return dropped.sum();
+    }
+
+    @Override
+    public String dumpTopStatements(int limit) {
+        StringBuilder report = new StringBuilder("Top SQL statements by total time:");
+        statements.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, StatementStats> entry) -> entry.getValue().total())
+                .reversed())
+            .limit(Math.max(0, limit))
+            .forEach(entry -> {
+                StatementStats stats = entry.getValue();
+                report.append(String.format(Locale.ROOT, "%n  %10.1f ms total %8d calls %8.2f ms mean %8.2f ms max  %s",
+                    stats.total() / NANOS_PER_MILLI, stats.calls(), stats.total() / NANOS_PER_MILLI / stats.calls(),
+                    stats.max() / NANOS_PER_MILLI, entry.getKey()));
+            });
+        String dump = report.toString();
+        LOGGER.info(dump);
+        return dump;
+    }
+
+    @Override
+    public void reset() {
+        statements.clear();
+        dropped.reset();
+    }
+
+    /**
+     * Calls and time of one SQL text.
+     */
+    private static final class StatementStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        long calls() {
+            return Math.max(1, calls.sum());
+        }
+
+        long total() {
+            return totalNanos.sum();
+        }
+
+        long max() {
+            return maxNanos.get();
+        }
+    }
+
+    /**
+     * A statement waiting to be logged.
+     */
+    private record TraceLine(boolean slow, String kind, String sql, long nanos, String thread, Throwable failure) {
+    }
+}
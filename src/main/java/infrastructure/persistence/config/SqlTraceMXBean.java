@@ -0,0 +1,32 @@
+package infrastructure.persistence.config;
+
+/**
+ * JMX controls of the SQL trace, registered as {@code storeflow:type=SqlTrace}.
+ */
+public interface SqlTraceMXBean {
+
+    double getSampleRate();
+
+    void setSampleRate(double sampleRate);
+
+    long getSlowThresholdMillis();
+
+    void setSlowThresholdMillis(long slowThresholdMillis);
+
+    /**
+     * Trace lines dropped because the log writer fell behind.
+     *
+     * @return the number of dropped lines
+     */
+    long getDroppedLines();
+
+    /**
+     * Lists the statements that took the most time in total since startup or the last reset, and logs them.
+     *
+     * @param limit how many statements to list
+     * @return one line per statement: total, calls, mean and max time, then the SQL
+     */
+    String dumpTopStatements(int limit);
+
+    void reset();
+}
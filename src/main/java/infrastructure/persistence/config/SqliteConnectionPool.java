@@ -0,0 +1,278 @@
+package infrastructure.persistence.config;
+
+import infrastructure.metrics.OperationStats;
+import infrastructure.metrics.StoreMetrics;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+import org.sqlite.SQLiteConfig;
+
+/**
+ * Hibernate connection provider tuned for SQLite.
+ * <p>
+ * Keeps a single writer connection and a fixed set of read-only connections, all sharing the same
+ * database in WAL mode. Writers are serialized on one connection (SQLite allows only one anyway),
+ * while readers keep working on their own connections during a commit.
+ * </p>
+ * <p>
+ * Sessions get the writer by default. {@link HibernateUtil#openReadOnlySession()} routes the
+ * connection request of the session being opened to the read-only pool, and the bootstrap of the
+ * SessionFactory (which may hold several connections at once for schema work) gets unpooled ones.
+ * </p>
+ * <p>
+ * Pooled connections record their statements and commits in {@link StoreMetrics}, together with the time
+ * sessions wait for the writer ({@code writerWait}), which shows how much writes queue behind each other.
+ * </p>
+ */
+public class SqliteConnectionPool implements ConnectionProvider, Configurable, Stoppable {
+
+    /**
+     * Where the connections requested by the current thread are taken from.
+     */
+    enum Route {
+        WRITER,
+        READER,
+        UNPOOLED
+    }
+
+    private static final long serialVersionUID = 1L;
+    private static final String SETTINGS_PREFIX = "hibernate.storeflow.sqlite.";
+    private static final String HIBERNATE_URL = "hibernate.connection.url";
+    private static final Logger LOGGER = Logger.getLogger(SqliteConnectionPool.class.getName());
+    private static final ThreadLocal<Route> ROUTE = ThreadLocal.withInitial(() -> Route.WRITER);
+
+    private static final String DEFAULT_JOURNAL_MODE = "WAL";
+    private static final String DEFAULT_SYNCHRONOUS = "NORMAL";
+    private static final String DEFAULT_MMAP_SIZE = "268435456";
+    private static final String DEFAULT_CACHE_SIZE = "-16000";
+    private static final String DEFAULT_TEMP_STORE = "MEMORY";
+    private static final int DEFAULT_BUSY_TIMEOUT_MS = 5000;
+    private static final int DEFAULT_READ_POOL_SIZE = 4;
+
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private final List<Connection> allReaders = new ArrayList<>();
+    private final Set<Connection> unpooled = ConcurrentHashMap.newKeySet();
+    private final StoreMetrics metrics = StoreMetrics.getInstance();
+    private final OperationStats writerWait = metrics.operation(StoreMetrics.SQLITE, "writerWait");
+
+    private BlockingQueue<Connection> idleReaders;
+    private SQLiteConfig writerConfig;
+    private String url;
+    private Connection writer;
+    private long acquireTimeoutMillis;
+    private SqlTrace trace;
+
+    /**
+     * Selects where the next connections requested by the current thread come from.
+     *
+     * @param route the connection source, or {@code null} to go back to the writer
+     */
+    static void routeTo(Route route) {
+        if (route == null || route == Route.WRITER) {
+            ROUTE.remove();
+        } else {
+            ROUTE.set(route);
+        }
+    }
+
+    /**
+     * Opens the writer and reader connections using the PRAGMAs found in the Hibernate settings.
+     * Every tunable is read from {@code storeflow.sqlite.*} properties and falls back to a default
+     * suited for a single store terminal.
+     *
+     * @param settings the Hibernate configuration values
+     */
+    @Override
+    public void configure(Map<String, Object> settings) {
+        this.url = setting(settings, JdbcSettings.JAKARTA_JDBC_URL, setting(settings, HIBERNATE_URL, null));
+        if (url == null) {
+            throw new IllegalStateException("Missing " + JdbcSettings.JAKARTA_JDBC_URL + " or " + HIBERNATE_URL
+                + " for SQLite pool");
+        }
+
+        int busyTimeout = Integer.parseInt(setting(settings, SETTINGS_PREFIX + "busy_timeout",
+            String.valueOf(DEFAULT_BUSY_TIMEOUT_MS)));
+        int readPoolSize = Integer.parseInt(setting(settings, SETTINGS_PREFIX + "read_pool_size",
+            String.valueOf(DEFAULT_READ_POOL_SIZE)));
+        this.acquireTimeoutMillis = busyTimeout;
+        this.trace = SqlTrace.start(settings);
+
+        try {
+            this.writerConfig = baseConfig(settings, busyTimeout);
+            writerConfig.setPragma(SQLiteConfig.Pragma.JOURNAL_MODE,
+                setting(settings, SETTINGS_PREFIX + "journal_mode", DEFAULT_JOURNAL_MODE));
+            writerConfig.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+            this.writer = TimedJdbc.wrap(writerConfig.createConnection(url), metrics, trace);
+
+            SQLiteConfig readerConfig = baseConfig(settings, busyTimeout);
+            readerConfig.setReadOnly(true);
+            this.idleReaders = new ArrayBlockingQueue<>(Math.max(1, readPoolSize));
+            for (int i = 0; i < Math.max(1, readPoolSize); i++) {
+                Connection reader = TimedJdbc.wrap(readerConfig.createConnection(url), metrics, trace);
+                allReaders.add(reader);
+                idleReaders.add(reader);
+            }
+        } catch (SQLException e) {
+            stop();
+            throw new IllegalStateException("Failed to open SQLite connections for " + url, e);
+        }
+
+        LOGGER.info(() -> "SQLite pool ready: 1 writer, " + allReaders.size() + " readers (" + url + ")");
+    }
+
+    private SQLiteConfig baseConfig(Map<String, Object> settings, int busyTimeout) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setBusyTimeout(busyTimeout);
+        config.setPragma(SQLiteConfig.Pragma.SYNCHRONOUS,
+            setting(settings, SETTINGS_PREFIX + "synchronous", DEFAULT_SYNCHRONOUS));
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE,
+            setting(settings, SETTINGS_PREFIX + "mmap_size", DEFAULT_MMAP_SIZE));
+        config.setPragma(SQLiteConfig.Pragma.CACHE_SIZE,
+            setting(settings, SETTINGS_PREFIX + "cache_size", DEFAULT_CACHE_SIZE));
+        config.setPragma(SQLiteConfig.Pragma.TEMP_STORE,
+            setting(settings, SETTINGS_PREFIX + "temp_store", DEFAULT_TEMP_STORE));
+        return config;
+    }
+
+    private static String setting(Map<String, Object> settings, String key, String defaultValue) {
+        Object value = settings.get(key);
+        return value == null ? defaultValue : value.toString().trim();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        switch (ROUTE.get()) {
+            case READER:
+                return borrowReader();
+            case UNPOOLED:
+                Connection connection = writerConfig.createConnection(url);
+                unpooled.add(connection);
+                return connection;
+            default:
+                return acquireWriter();
+        }
+    }
+
+    private Connection acquireWriter() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!writerPermit.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                SQLException timeout = new SQLException("Timed out waiting for the SQLite writer connection");
+                writerWait.record(System.nanoTime() - start, timeout);
+                throw timeout;
+            }
+            writerWait.record(System.nanoTime() - start, null);
+            return writer;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the SQLite writer connection", e);
+        }
+    }
+
+    private Connection borrowReader() throws SQLException {
+        try {
+            Connection reader = idleReaders.poll(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (reader == null) {
+                throw new SQLException("Timed out waiting for a SQLite read connection");
+            }
+            return reader;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a SQLite read connection", e);
+        }
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } finally {
+            if (connection == writer) {
+                writerPermit.release();
+            } else if (allReaders.contains(connection)) {
+                idleReaders.offer(connection);
+            } else if (unpooled.remove(connection)) {
+                connection.close();
+            }
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    /**
+     * Closes every connection, including unpooled ones Hibernate never handed back (the JDBC environment
+     * probe keeps its connection under immediate acquisition). The writer goes last and folds the WAL
+     * back into the database file first, so the file can be copied or moved on its own once stopped. The SQL
+     * trace is stopped last and logs the statements that took the most time.
+     */
+    @Override
+    public void stop() {
+        unpooled.forEach(SqliteConnectionPool::closeQuietly);
+        unpooled.clear();
+        allReaders.forEach(SqliteConnectionPool::closeQuietly);
+        allReaders.clear();
+        checkpoint(writer);
+        closeQuietly(writer);
+        if (trace != null) {
+            trace.stop();
+            trace = null;
+        }
+    }
+
+    private static void checkpoint(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to checkpoint the SQLite WAL", e);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to close SQLite connection", e);
+        }
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isInstance(this);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (unwrapType.isInstance(this)) {
+            return unwrapType.cast(this);
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+}
@@ -0,0 +1,116 @@
+package infrastructure.persistence.config;
+
+import infrastructure.metrics.OperationStats;
+import infrastructure.metrics.SqlStatementEvent;
+import infrastructure.metrics.StoreMetrics;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Wraps pooled SQLite connections so that the time spent in the database is recorded in the
+ * {@link StoreMetrics#SQLITE} layer: statement executions as {@code query}, {@code update} and {@code batch},
+ * and {@code commit}.
+ * <p>
+ * Statement executions are timed until SQLite returns the first row (for queries) or the update count;
+ * stepping through the remaining rows is left to whoever reads them. Equality of the wrappers is identity,
+ * so the pool still finds its connections when Hibernate hands them back.
+ * </p>
+ * <p>
+ * Every execution and commit is also emitted as a {@link SqlStatementEvent} with its SQL, so a Flight Recorder
+ * recording shows which statement a thread, the FX thread included, was waiting on, and handed to the
+ * {@link SqlTrace} for sampled logging and per-statement totals.
+ * </p>
+ */
+final class TimedJdbc {
+
+    private TimedJdbc() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    static Connection wrap(Connection connection, StoreMetrics metrics, SqlTrace trace) {
+        Timer commit = new Timer(metrics.operation(StoreMetrics.SQLITE, "commit"), trace);
+        Timings timings = new Timings(new Timer(metrics.operation(StoreMetrics.SQLITE, "query"), trace),
+            new Timer(metrics.operation(StoreMetrics.SQLITE, "update"), trace),
+            new Timer(metrics.operation(StoreMetrics.SQLITE, "batch"), trace));
+
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "createStatement" ->
+                wrap(Statement.class, (Statement) invoke(connection, method, args), timings, null);
+            case "prepareStatement", "prepareCall" -> wrap(method.getReturnType().asSubclass(Statement.class),
+                (Statement) invoke(connection, method, args), timings, (String) args[0]);
+            case "commit" -> timed(commit, null, method, connection, args);
+            default -> invoke(connection, method, args);
+        };
+        return proxy(Connection.class, handler);
+    }
+
+    private static <T extends Statement> T wrap(Class<T> type, Statement statement, Timings timings,
+        String preparedSql) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "executeQuery", "execute" -> timed(timings.query(), sqlOf(preparedSql, args), method, statement, args);
+            case "executeUpdate", "executeLargeUpdate" ->
+                timed(timings.update(), sqlOf(preparedSql, args), method, statement, args);
+            case "executeBatch", "executeLargeBatch" -> timed(timings.batch(), preparedSql, method, statement, args);
+            default -> invoke(statement, method, args);
+        };
+        return proxy(type, handler);
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static String sqlOf(String preparedSql, Object[] args) {
+        return preparedSql == null && args != null && args.length > 0 ? (String) args[0] : preparedSql;
+    }
+
+    private static Object timed(Timer timer, String sql, Method method, Object target, Object[] args)
+        throws Throwable {
+        SqlStatementEvent event = new SqlStatementEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            Object result = method.invoke(target, args);
+            timer.record(sql, System.nanoTime() - start, null);
+            event.end(timer.stats().getName(), sql, null);
+            return result;
+        } catch (InvocationTargetException e) {
+            timer.record(sql, System.nanoTime() - start, e.getCause());
+            event.end(timer.stats().getName(), sql, e.getCause().getClass().getSimpleName());
+            throw e.getCause();
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Where the statements of one connection record their executions.
+     */
+    private record Timings(Timer query, Timer update, Timer batch) {
+    }
+
+    /**
+     * Where one kind of execution is recorded.
+     */
+    private record Timer(OperationStats stats, SqlTrace trace) {
+
+        void record(String sql, long nanos, Throwable failure) {
+            stats.record(nanos, failure);
+            trace.record(stats.getName(), sql, nanos, failure);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package infrastructure.persistence.converters;
+
+import domain.common.Margin;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Margin} as an INTEGER column of basis points.
+ */
+@Converter(autoApply = true)
+public class MarginConverter implements AttributeConverter<Margin, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Margin margin) {
+        return margin == null ? null : margin.basisPoints();
+    }
+
+    @Override
+    public Margin convertToEntityAttribute(Long basisPoints) {
+        return basisPoints == null ? null : new Margin(basisPoints);
+    }
+}
@@ -0,0 +1,22 @@
+package infrastructure.persistence.converters;
+
+import domain.common.Quantity;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Quantity} as an INTEGER column of thousandths.
+ */
+@Converter(autoApply = true)
+public class QuantityConverter implements AttributeConverter<Quantity, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Quantity quantity) {
+        return quantity == null ? null : quantity.thousandths();
+    }
+
+    @Override
+    public Quantity convertToEntityAttribute(Long thousandths) {
+        return thousandths == null ? null : new Quantity(thousandths);
+    }
+}
@@ -10,19 +10,23 @@ public class Dependencies {
     private final RegisterProductEntry registerProduct;
     private final UpdateProductDetails updateProductDetails;
     private final ProductRepository productRepository;
+    private final UseCaseExecutor useCaseExecutor;
 
     public Dependencies(LoginUser loginUser,
                         RegisterProductEntry registerProduct,
                         UpdateProductDetails updateProductDetails,
-                        ProductRepository productRepository) {
+                        ProductRepository productRepository,
+                        UseCaseExecutor useCaseExecutor) {
         this.loginUser = loginUser;
         this.registerProduct = registerProduct;
         this.updateProductDetails = updateProductDetails;
         this.productRepository = productRepository;
+        this.useCaseExecutor = useCaseExecutor;
     }
 
     public LoginUser getLoginUser() { return loginUser; }
     public RegisterProductEntry getRegisterProduct() { return registerProduct; }
     public UpdateProductDetails getUpdateProductDetails() { return updateProductDetails; }
     public ProductRepository getProductRepository() { return productRepository; }
+    public UseCaseExecutor getUseCaseExecutor() { return useCaseExecutor; }
 }
@@ -1,35 +1,120 @@
 package infrastructure.ui;
 
+import application.configuration.GlobalConfigProvider;
+import application.interfaces.GlobalConfigRepository;
 import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
+import application.interfaces.UnitOfWork;
 import application.interfaces.UserRepository;
 import application.session.SessionContext;
 import application.usecases.LoginUser;
 import application.usecases.RegisterProductEntry;
 import application.usecases.UpdateProductDetails;
+import infrastructure.metrics.StoreMetrics;
+import infrastructure.persistence.SqliteGlobalConfigRepository;
 import infrastructure.persistence.SqliteProductRepository;
+import infrastructure.persistence.SqliteStockMovementRepository;
 import infrastructure.persistence.SqliteUserRepository;
+import infrastructure.persistence.StockSnapshotJob;
+import infrastructure.persistence.cache.CachingProductRepository;
+import infrastructure.persistence.cache.ProductSnapshotCache;
+import infrastructure.persistence.config.HibernateUnitOfWork;
+import infrastructure.persistence.config.HibernateUtil;
 import infrastructure.persistence.seed.DatabaseSeeder;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
 public class MainApp extends Application {
 
+    private static final Logger LOGGER = Logger.getLogger(MainApp.class.getName());
+    private static final int DEFAULT_PRODUCT_CACHE_ENTRIES = 50_000;
+    private static final int DEFAULT_STOCK_SNAPSHOT_MINUTES = 5;
+    private static final int WARM_UP_PAGE_SIZE = 200;
+    private static final int DEFAULT_METRICS_LOG_MINUTES = 1;
+
+    private final StoreMetrics metrics = StoreMetrics.getInstance();
+    private final UseCaseExecutor useCaseExecutor = new UseCaseExecutor();
+    private final StockSnapshotJob stockSnapshotJob = new StockSnapshotJob(Duration.ofMinutes(
+        Integer.getInteger("storeflow.stock.snapshot_interval_minutes", DEFAULT_STOCK_SNAPSHOT_MINUTES)));
+
+    /**
+     * Shows the login window right away and starts the storage in the background.
+     * Nothing here touches the database: building the SessionFactory (metadata, schema migrations, SQLite
+     * connections), seeding and warming up run on a bootstrap thread while the user types, and the login
+     * waits for them only if it is submitted before they finish.
+     */
     @Override
     public void start(Stage stage) throws IOException {
-        UserRepository userRepository = new SqliteUserRepository();
-        ProductRepository productRepository = new SqliteProductRepository();
-        new DatabaseSeeder(userRepository).seed();
+        UserRepository userRepository = metrics.instrument(UserRepository.class, new SqliteUserRepository());
+        int productCacheEntries = Integer.getInteger("storeflow.cache.products.max_entries",
+            DEFAULT_PRODUCT_CACHE_ENTRIES);
+        CachingProductRepository cachingProducts = new CachingProductRepository(new SqliteProductRepository(),
+            new ProductSnapshotCache(productCacheEntries));
+        ProductRepository productRepository = metrics.instrument(ProductRepository.class, cachingProducts);
+        metrics.startLogging(Duration.ofMinutes(
+            Integer.getInteger("storeflow.metrics.log_interval_minutes", DEFAULT_METRICS_LOG_MINUTES)));
+
+        CompletableFuture<Void> storageReady = CompletableFuture.runAsync(
+            () -> bootstrapStorage(userRepository, cachingProducts), bootstrapThread());
+        storageReady.whenComplete((ignored, error) -> {
+            if (error == null) {
+                stockSnapshotJob.start();
+            } else {
+                LOGGER.log(Level.SEVERE, "Failed to start the application storage", error);
+            }
+        });
 
         SessionContext sessionContext = SessionContext.getInstance();
-        LoginUser loginUser = new LoginUser(userRepository, sessionContext);
+        LoginUser loginUser = new LoginUser(userRepository, sessionContext, storageReady);
 
-        RegisterProductEntry registerProduct = new RegisterProductEntry(productRepository);
-        UpdateProductDetails updateProduct = new UpdateProductDetails(productRepository);
+        UnitOfWork unitOfWork = new HibernateUnitOfWork();
+        GlobalConfigProvider configProvider = new GlobalConfigProvider(
+            metrics.instrument(GlobalConfigRepository.class, new SqliteGlobalConfigRepository()));
+        RegisterProductEntry registerProduct = new RegisterProductEntry(productRepository,
+            metrics.instrument(StockMovementRepository.class, new SqliteStockMovementRepository()), configProvider,
+            unitOfWork);
+        UpdateProductDetails updateProduct = new UpdateProductDetails(productRepository, unitOfWork);
 
-        Dependencies dependencies = new Dependencies(loginUser, registerProduct, updateProduct, productRepository);
+        Dependencies dependencies = new Dependencies(loginUser, registerProduct, updateProduct, productRepository,
+            useCaseExecutor);
         ViewNavigator navigator = new ViewNavigator(stage, dependencies);
         navigator.showLogin();
+        LOGGER.info(() -> "Login window shown " + sinceLaunchMillis() + " ms after launch");
+    }
+
+    private static void bootstrapStorage(UserRepository userRepository, CachingProductRepository products) {
+        HibernateUtil.getSessionFactory();
+        new DatabaseSeeder(userRepository).seed();
+        int cached = products.warmUp(WARM_UP_PAGE_SIZE);
+        LOGGER.info(() -> "Storage ready " + sinceLaunchMillis() + " ms after launch, " + cached
+            + " products cached");
+    }
+
+    private static Executor bootstrapThread() {
+        return work -> {
+            Thread thread = new Thread(work, "storeflow-bootstrap");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+
+    private static long sinceLaunchMillis() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    @Override
+    public void stop() {
+        useCaseExecutor.shutdown();
+        stockSnapshotJob.stop();
+        metrics.stopLogging();
+        HibernateUtil.shutdown();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,161 @@
+package infrastructure.ui;
+
+import infrastructure.metrics.StoreMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+
+/**
+ * Runs use cases and repository calls off the JavaFX application thread.
+ * <p>
+ * Work goes to a small bounded pool of daemon threads; its outcome is delivered back on the FX thread
+ * through {@link Platform#runLater(Runnable)}. {@link #busyProperty()} is true while any submitted work
+ * is in flight, so views can show a progress indicator. Cancelling the returned future interrupts the
+ * worker and suppresses the callbacks.
+ * </p>
+ */
+public class UseCaseExecutor {
+
+    private static final int DEFAULT_THREADS = 2;
+    private static final int QUEUE_CAPACITY = 64;
+
+    private final ExecutorService executor;
+    private final StoreMetrics metrics = StoreMetrics.getInstance();
+    private final ReadOnlyBooleanWrapper busy = new ReadOnlyBooleanWrapper(false);
+    private int inFlight;
+
+    public UseCaseExecutor() {
+        this(DEFAULT_THREADS);
+    }
+
+    public UseCaseExecutor(int threads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY), daemonThreads());
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "storeflow-usecase-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Submits work to run in the background. Must be called from the FX thread.
+     *
+     * @param work      the work to run off the FX thread
+     * @param onSuccess called on the FX thread with the result
+     * @param onFailure called on the FX thread with the failure cause
+     * @param <T>       the result type
+     * @return a future that can be used to cancel the work
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> runInto(result, work));
+        } catch (RejectedExecutionException e) {
+            onFailure.accept(e);
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        setInFlight(inFlight + 1);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+            Platform.runLater(() -> deliver(result, value, error, onSuccess, onFailure));
+        });
+        return result;
+    }
+
+    /**
+     * Submits a use case, recording its latency and outcome in the {@link StoreMetrics#USE_CASE} layer.
+     * Only the time the use case runs is recorded, not the time it waits for a worker.
+     *
+     * @param useCase   the name of the use case, as shown over JMX
+     * @param work      the use case call
+     * @param onSuccess called on the FX thread with the result
+     * @param onFailure called on the FX thread with the failure cause
+     * @param <T>       the result type
+     * @return a future that can be used to cancel the work
+     */
+    public <T> CompletableFuture<T> submit(String useCase, Supplier<T> work, Consumer<T> onSuccess,
+                                           Consumer<Throwable> onFailure) {
+        return submit(() -> metrics.time(StoreMetrics.USE_CASE, useCase, work), onSuccess, onFailure);
+    }
+
+    /**
+     * Submits work whose only outcome of interest is success or failure.
+     *
+     * @param work      the work to run off the FX thread
+     * @param onSuccess called on the FX thread once the work has finished
+     * @param onFailure called on the FX thread with the failure cause
+     * @return a future that can be used to cancel the work
+     */
+    public CompletableFuture<Void> run(Runnable work, Runnable onSuccess, Consumer<Throwable> onFailure) {
+        return submit(() -> {
+            work.run();
+            return null;
+        }, ignored -> onSuccess.run(), onFailure);
+    }
+
+    /**
+     * Runs the work and completes the future with its outcome, whatever it is. An {@link Error} is caught
+     * too: the pool's {@code FutureTask} would swallow it, the future would never complete and the views
+     * waiting on {@link #busyProperty()} would stay disabled until the application restarts.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private static <T> void runInto(CompletableFuture<T> result, Supplier<T> work) {
+        if (result.isDone()) {
+            return;
+        }
+        try {
+            result.complete(work.get());
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        }
+    }
+
+    private <T> void deliver(CompletableFuture<T> result, T value, Throwable error,
+                             Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        setInFlight(inFlight - 1);
+        if (result.isCancelled()) {
+            return;
+        }
+        if (error == null) {
+            onSuccess.accept(value);
+        } else {
+            onFailure.accept(error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error);
+        }
+    }
+
+    private void setInFlight(int count) {
+        inFlight = count;
+        busy.set(count > 0);
+    }
+
+    public ReadOnlyBooleanProperty busyProperty() {
+        return busy.getReadOnlyProperty();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,6 +1,7 @@
 package infrastructure.ui;
 
 import application.session.SessionContext;
+import infrastructure.metrics.ViewLoadEvent;
 import infrastructure.ui.controller.LoginController;
 import infrastructure.ui.controller.MainLayoutController;
 import infrastructure.ui.controller.ProductController;
@@ -38,6 +39,8 @@ public class ViewNavigator {
     }
 
     private void loadScene(String fxmlPath, String title) {
+        ViewLoadEvent event = new ViewLoadEvent();
+        event.begin();
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlPath));
             loader.setControllerFactory(createControllerFactory());
@@ -51,20 +54,23 @@ public class ViewNavigator {
 
         } catch (IOException | RuntimeException e) {
             throw new RuntimeException("Failed to load view: " + fxmlPath, e);
+        } finally {
+            event.end(fxmlPath);
         }
     }
 
     private Callback<Class<?>, Object> createControllerFactory() {
         return param -> {
             if (param == LoginController.class) {
-                return new LoginController(dependencies.getLoginUser(), this);
+                return new LoginController(dependencies.getLoginUser(), this, dependencies.getUseCaseExecutor());
             }
             if (param == ProductController.class) {
                 return new ProductController(
                     dependencies.getRegisterProduct(),
                     dependencies.getUpdateProductDetails(),
                     dependencies.getProductRepository(),
-                    SessionContext.getInstance()
+                    SessionContext.getInstance(),
+                    dependencies.getUseCaseExecutor()
                 );
             }
             if (param == MainLayoutController.class) {
@@ -6,8 +6,10 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import infrastructure.ui.UseCaseExecutor;
 import infrastructure.ui.ViewNavigator;
 
 public class LoginController {
@@ -20,29 +22,41 @@ public class LoginController {
     @FXML
     private PasswordField passwordField;
 
+    @FXML
+    private Button loginButton;
+
     private final LoginUser loginUser;
     private final ViewNavigator navigator;
+    private final UseCaseExecutor executor;
 
-    public LoginController(LoginUser loginUser, ViewNavigator navigator) {
+    public LoginController(LoginUser loginUser, ViewNavigator navigator, UseCaseExecutor executor) {
         this.loginUser = loginUser;
         this.navigator = navigator;
+        this.executor = executor;
     }
 
+    /**
+     * Logs in off the FX thread. Right after launch the login may have to wait for the storage to finish
+     * starting; the window stays responsive meanwhile and the button is disabled until there is an answer.
+     */
     @FXML
     public void onLoginButtonClick() {
-        try {
-            String username = usernameField.getText();
-            String password = passwordField.getText();
+        String username = usernameField.getText();
+        String password = passwordField.getText();
 
-            loginUser.execute(username, password);
-
-            navigator.showMainLayout();
+        loginButton.setDisable(true);
+        executor.submit("LoginUser", () -> loginUser.execute(username, password),
+            user -> navigator.showMainLayout(),
+            this::onLoginFailed);
+    }
 
-        } catch (DomainException e) {
-            showAlert(Alert.AlertType.ERROR, "Login Failed", e.getMessage());
-        } catch (RuntimeException e) {
+    private void onLoginFailed(Throwable error) {
+        loginButton.setDisable(false);
+        if (error instanceof DomainException) {
+            showAlert(Alert.AlertType.ERROR, "Login Failed", error.getMessage());
+        } else {
             showAlert(Alert.AlertType.ERROR, "System Error", "An unexpected error occurred.");
-            LOGGER.log(Level.SEVERE, "Unexpected error during login", e);
+            LOGGER.log(Level.SEVERE, "Unexpected error during login", error);
         }
     }
 
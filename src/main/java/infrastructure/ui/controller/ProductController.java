@@ -1,5 +1,6 @@
 package infrastructure.ui.controller;
 
+import application.dtos.ProductCursor;
 import application.dtos.ProductEntryDTO;
 import application.dtos.UpdateProductDTO;
 import application.interfaces.ProductRepository;
@@ -7,26 +8,47 @@ import application.session.SessionContext;
 import application.usecases.RegisterProductEntry;
 import application.usecases.UpdateProductDetails;
 import domain.common.DomainException;
+import domain.common.Money;
+import domain.common.Quantity;
 import domain.stock.Product;
 import domain.stock.UnitType;
 import domain.users.User;
-import java.math.BigDecimal;
+import infrastructure.metrics.ProductListRefreshEvent;
+import infrastructure.ui.UseCaseExecutor;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.SortedList;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ListCell;
 import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.RadioButton;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleGroup;
+import javafx.util.Duration;
 
 public class ProductController {
 
     private static final Logger LOGGER = Logger.getLogger(ProductController.class.getName());
+    private static final int PAGE_SIZE = 200;
+    private static final int SEARCH_LIMIT = 50;
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(150);
+    private static final Comparator<Product> CATALOG_ORDER = Comparator.comparing(Product::getName)
+        .thenComparing(Product::getId);
 
     @FXML private TextField barcodeField;
     @FXML private TextField nameField;
@@ -37,29 +59,51 @@ public class ProductController {
     @FXML private RadioButton unitTypeUnit;
     @FXML private RadioButton unitTypeKilo;
 
+    @FXML private TextField searchField;
     @FXML private ListView<Product> productListView;
     @FXML private Button saveButton;
     @FXML private Button cancelButton;
+    @FXML private ProgressIndicator busyIndicator;
 
     private final RegisterProductEntry registerProductEntry;
     private final UpdateProductDetails updateProductDetails;
     private final ProductRepository productRepository;
     private final SessionContext sessionContext;
+    private final UseCaseExecutor executor;
+
+    private final ObservableList<Product> products = FXCollections.observableArrayList();
+    private final SortedList<Product> sortedProducts = new SortedList<>(products, CATALOG_ORDER);
 
     private String selectedProductId;
+    private Long selectedProductVersion;
+    private ProductCursor lastLoaded;
+    private boolean lastPageLoaded;
+    private boolean nextPageRequested;
+    private CompletableFuture<List<Product>> pendingPage;
+    private CompletableFuture<List<Product>> pendingSearch;
+    private String activeQuery;
+    private PauseTransition searchDebounce;
 
     public ProductController(RegisterProductEntry registerProductEntry,
                              UpdateProductDetails updateProductDetails,
                              ProductRepository productRepository,
-                             SessionContext sessionContext) {
+                             SessionContext sessionContext,
+                             UseCaseExecutor executor) {
         this.registerProductEntry = registerProductEntry;
         this.updateProductDetails = updateProductDetails;
         this.productRepository = productRepository;
         this.sessionContext = sessionContext;
+        this.executor = executor;
     }
 
     @FXML
     public void initialize() {
+        productListView.setItems(sortedProducts);
+        productListView.setCellFactory(param -> new ProductCell());
+        busyIndicator.visibleProperty().bind(executor.busyProperty());
+        searchDebounce = new PauseTransition(SEARCH_DEBOUNCE);
+        searchDebounce.setOnFinished(event -> runSearch(false));
+        searchField.textProperty().addListener((obs, oldText, newText) -> searchDebounce.playFromStart());
         refreshList();
 
         productListView.getSelectionModel().selectedItemProperty()
@@ -72,6 +116,7 @@ public class ProductController {
 
     private void onProductSelected(Product product) {
         this.selectedProductId = product.getId();
+        this.selectedProductVersion = product.getVersion();
 
         barcodeField.setText(product.getBarcode().getValue());
         nameField.setText(product.getName());
@@ -92,7 +137,9 @@ public class ProductController {
     }
 
     /**
-     * Guarda
+     * Saves the form as a new entry (create or restock) or as an edit of the selected product.
+     * The use case runs in the background; the form is cleared right away so the next product can be
+     * typed or scanned while the save completes, and it is put back if the save fails.
      */
     @FXML
     public void onSaveProductClick() {
@@ -100,29 +147,49 @@ public class ProductController {
             User currentUser = sessionContext.getCurrentUser()
                 .orElseThrow(() -> new DomainException("No active session found."));
 
-            if (selectedProductId == null) {
-                ProductEntryDTO dto = buildEntryDtoFromForm();
-                registerProductEntry.execute(currentUser, dto);
-                showAlert(Alert.AlertType.INFORMATION, "Éxito", "Producto procesado correctamente.");
-            } else {
-                if (confirmUpdate()) {
-                    UpdateProductDTO dto = buildUpdateDtoFromForm();
-                    updateProductDetails.execute(currentUser, dto);
-                    showAlert(Alert.AlertType.INFORMATION, "Éxito", "Producto modificado correctamente.");
-                } else {
-                    return;
-                }
+            if (selectedProductId != null && !confirmUpdate()) {
+                return;
             }
 
+            FormState submitted = captureForm();
+            Supplier<Product> save = buildSave(currentUser);
+            String useCase = selectedProductId == null
+                ? RegisterProductEntry.class.getSimpleName()
+                : UpdateProductDetails.class.getSimpleName();
+            String successMessage = selectedProductId == null
+                ? "Producto procesado correctamente."
+                : "Producto modificado correctamente.";
+
             clearForm();
-            refreshList();
+            executor.submit(useCase, save, saved -> {
+                applySavedProduct(saved);
+                showAlert(Alert.AlertType.INFORMATION, "Éxito", successMessage);
+            }, error -> onSaveFailed(error, submitted));
 
         } catch (DomainException e) {
             showAlert(Alert.AlertType.WARNING, "Validación", e.getMessage());
         } catch (NumberFormatException e) {
             showAlert(Alert.AlertType.ERROR, "Error de Formato", "Verifique los números ingresados.");
-        } catch (RuntimeException e) {
-            LOGGER.log(Level.SEVERE, "Error saving product", e);
+        }
+    }
+
+    private Supplier<Product> buildSave(User currentUser) {
+        if (selectedProductId == null) {
+            ProductEntryDTO dto = buildEntryDtoFromForm();
+            return () -> registerProductEntry.execute(currentUser, dto);
+        }
+        UpdateProductDTO dto = buildUpdateDtoFromForm();
+        return () -> updateProductDetails.execute(currentUser, dto);
+    }
+
+    private void onSaveFailed(Throwable error, FormState submitted) {
+        if (barcodeField.getText().isBlank() && nameField.getText().isBlank()) {
+            restoreForm(submitted);
+        }
+        if (error instanceof DomainException) {
+            showAlert(Alert.AlertType.WARNING, "Validación", error.getMessage());
+        } else {
+            LOGGER.log(Level.SEVERE, "Error saving product", error);
             showAlert(Alert.AlertType.ERROR, "Error", "Ocurrió un error inesperado.");
         }
     }
@@ -134,6 +201,7 @@ public class ProductController {
 
     private void clearForm() {
         selectedProductId = null;
+        selectedProductVersion = null;
         barcodeField.clear();
         nameField.clear();
         descriptionField.clear();
@@ -149,19 +217,166 @@ public class ProductController {
         barcodeField.requestFocus();
     }
 
+    @FXML
+    public void onRefreshClick() {
+        if (activeQuery == null) {
+            refreshList();
+        } else {
+            onSearchClick();
+        }
+    }
+
+    @FXML
+    public void onSearchClick() {
+        searchDebounce.stop();
+        runSearch(true);
+    }
+
+    /**
+     * Runs the text in the search box against the full-text index, replacing the list with the
+     * best matches in relevance order. Typing restarts a short debounce, and a query still running
+     * when a newer one starts is cancelled so stale results never reach the list. An empty box goes
+     * back to the paged catalog.
+     *
+     * @param rerun whether to run the query again even if its results are already shown
+     */
+    private void runSearch(boolean rerun) {
+        String query = searchField.getText().trim();
+        String shownQuery = activeQuery == null ? "" : activeQuery;
+        if (query.equals(shownQuery) && !rerun) {
+            return;
+        }
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
+        if (query.isEmpty()) {
+            activeQuery = null;
+            sortedProducts.setComparator(CATALOG_ORDER);
+            refreshList();
+            return;
+        }
+
+        activeQuery = query;
+        cancelPendingPage();
+        lastPageLoaded = true;
+        pendingSearch = executor.submit(() -> productRepository.search(query, SEARCH_LIMIT), matches -> {
+            ProductListRefreshEvent event = new ProductListRefreshEvent();
+            event.begin();
+            sortedProducts.setComparator(null);
+            products.setAll(matches);
+            event.end("search", query, matches.size(), products.size());
+        }, error -> LOGGER.log(Level.SEVERE, "Error searching products", error));
+    }
+
+    private void cancelPendingPage() {
+        if (pendingPage != null) {
+            pendingPage.cancel(true);
+        }
+    }
+
     private void refreshList() {
-        productListView.setItems(FXCollections.observableArrayList(productRepository.findAll()));
-        productListView.setCellFactory(param -> new javafx.scene.control.ListCell<>() {
-            @Override
-            protected void updateItem(Product item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setText(null);
-                } else {
-                    setText(item.getName() + " - " + item.getBarcode().getValue());
-                }
+        cancelPendingPage();
+        products.clear();
+        lastLoaded = null;
+        lastPageLoaded = false;
+        loadNextPage();
+    }
+
+    /**
+     * Appends the next page of the catalog to the list, if there is one left.
+     * Pages are requested in the background when the last loaded product scrolls into view.
+     */
+    private void loadNextPage() {
+        nextPageRequested = false;
+        if (lastPageLoaded || pendingPage != null && !pendingPage.isDone()) {
+            return;
+        }
+        ProductCursor cursor = lastLoaded;
+        pendingPage = executor.submit(() -> productRepository.findPage(cursor, PAGE_SIZE), page -> {
+            ProductListRefreshEvent event = new ProductListRefreshEvent();
+            event.begin();
+            lastPageLoaded = page.size() < PAGE_SIZE;
+            if (!page.isEmpty()) {
+                lastLoaded = ProductCursor.after(page.get(page.size() - 1));
             }
-        });
+            Set<String> pageIds = page.stream().map(Product::getId).collect(Collectors.toSet());
+            products.removeIf(product -> pageIds.contains(product.getId()));
+            products.addAll(page);
+            event.end("page", null, page.size(), products.size());
+        }, error -> LOGGER.log(Level.SEVERE, "Error loading products", error));
+    }
+
+    /**
+     * Applies a saved product to the loaded list in place instead of reloading the catalog.
+     * The product replaces its previous version, or is inserted if new; the sorted view keeps it in
+     * catalog order. If it now sorts past the loaded pages it is dropped, and the page that covers
+     * its position will bring it back. While search results are shown, only a product already in
+     * the results is updated.
+     *
+     * @param saved the product returned by the use case
+     */
+    private void applySavedProduct(Product saved) {
+        int index = indexOf(saved.getId());
+        if (activeQuery != null) {
+            if (index >= 0) {
+                products.set(index, saved);
+            }
+            return;
+        }
+        boolean withinLoadedPages = isWithinLoadedPages(saved);
+
+        if (index >= 0 && withinLoadedPages) {
+            products.set(index, saved);
+        } else if (index >= 0) {
+            products.remove(index);
+        } else if (withinLoadedPages) {
+            products.add(saved);
+        }
+    }
+
+    private int indexOf(String productId) {
+        for (int i = 0; i < products.size(); i++) {
+            if (products.get(i).getId().equals(productId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isWithinLoadedPages(Product product) {
+        if (lastPageLoaded) {
+            return true;
+        }
+        if (lastLoaded == null) {
+            return false;
+        }
+        int byName = product.getName().compareTo(lastLoaded.name());
+        return byName < 0 || byName == 0 && product.getId().compareTo(lastLoaded.id()) <= 0;
+    }
+
+    private FormState captureForm() {
+        return new FormState(selectedProductId, selectedProductVersion, barcodeField.getText(),
+            nameField.getText(), descriptionField.getText(), costField.getText(), quantityField.getText(),
+            getSelectedUnitType());
+    }
+
+    private void restoreForm(FormState state) {
+        selectedProductId = state.selectedProductId();
+        selectedProductVersion = state.selectedProductVersion();
+        barcodeField.setText(state.barcode());
+        nameField.setText(state.name());
+        descriptionField.setText(state.description());
+        costField.setText(state.cost());
+        quantityField.setText(state.quantity());
+        if (state.unitType() == UnitType.UNIT) {
+            unitTypeUnit.setSelected(true);
+        } else {
+            unitTypeKilo.setSelected(true);
+        }
+        boolean editing = selectedProductId != null;
+        saveButton.setText(editing ? "Guardar Cambios" : "Guardar / Reponer");
+        cancelButton.setVisible(editing);
+        quantityField.setDisable(editing);
     }
 
     private boolean confirmUpdate() {
@@ -178,19 +393,20 @@ public class ProductController {
             descriptionField.getText(),
             barcodeField.getText(),
             getSelectedUnitType(),
-            new BigDecimal(quantityField.getText().replace(",", ".")),
-            new BigDecimal(costField.getText().replace(",", "."))
+            Quantity.parse(quantityField.getText()),
+            Money.parse(costField.getText())
         );
     }
 
     private UpdateProductDTO buildUpdateDtoFromForm() {
         return new UpdateProductDTO(
             selectedProductId,
+            selectedProductVersion,
             nameField.getText(),
             descriptionField.getText(),
             barcodeField.getText(),
             getSelectedUnitType(),
-            new BigDecimal(costField.getText().replace(",", "."))
+            Money.parse(costField.getText())
         );
     }
 
@@ -205,4 +421,33 @@ public class ProductController {
         alert.setContentText(content);
         alert.showAndWait();
     }
+
+    private record FormState(
+        String selectedProductId,
+        Long selectedProductVersion,
+        String barcode,
+        String name,
+        String description,
+        String cost,
+        String quantity,
+        UnitType unitType
+    ) {
+    }
+
+    private final class ProductCell extends ListCell<Product> {
+
+        @Override
+        protected void updateItem(Product item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setText(null);
+                return;
+            }
+            setText(item.getName() + " - " + item.getBarcode().getValue());
+            if (getIndex() == sortedProducts.size() - 1 && !lastPageLoaded && !nextPageRequested) {
+                nextPageRequested = true;
+                Platform.runLater(ProductController.this::loadNextPage);
+            }
+        }
+    }
 }
@@ -0,0 +1,96 @@
+-- Schema as Hibernate's hbm2ddl=update left it, plus the objects it could not manage on SQLite.
+-- Everything is IF NOT EXISTS so databases created before migrations are adopted as they are.
+
+CREATE TABLE IF NOT EXISTS users (
+    id varchar(255) not null,
+    createdAt timestamp,
+    password varchar(255),
+    role varchar(255) check (role in ('ADMIN','SELLER')),
+    username varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS global_configuration (
+    id varchar(255) not null,
+    createdAt timestamp,
+    defaultProfitMargin numeric(38,2),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS products (
+    id varchar(255) not null,
+    createdAt timestamp,
+    value varchar(255),
+    costCents bigint,
+    description varchar(255),
+    name varchar(255),
+    unitType varchar(255) check (unitType in ('UNIT','FRACTION')),
+    version bigint,
+    primary key (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_products_barcode ON products(value);
+CREATE INDEX IF NOT EXISTS ix_products_name ON products(name, id);
+
+-- Full-text search over products. It shares its rowid with products and is kept in sync by triggers,
+-- so every write path (repository, bulk SQL) updates the index in the same transaction.
+CREATE VIRTUAL TABLE IF NOT EXISTS products_fts USING fts5(
+    product_id UNINDEXED, name, description, barcode,
+    tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+);
+
+CREATE TRIGGER IF NOT EXISTS trg_products_fts_insert AFTER INSERT ON products BEGIN
+    INSERT INTO products_fts(rowid, product_id, name, description, barcode)
+    VALUES (new.rowid, new.id, new.name, new.description, new.value);
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_products_fts_update AFTER UPDATE OF name, description, value ON products BEGIN
+    DELETE FROM products_fts WHERE rowid = old.rowid;
+    INSERT INTO products_fts(rowid, product_id, name, description, barcode)
+    VALUES (new.rowid, new.id, new.name, new.description, new.value);
+END;
+
+CREATE TRIGGER IF NOT EXISTS trg_products_fts_delete AFTER DELETE ON products BEGIN
+    DELETE FROM products_fts WHERE rowid = old.rowid;
+END;
+
+-- Stock ledger: movements are only appended; stock_snapshots holds the per-product stock folded from them
+-- up to lastMovementRowid.
+CREATE TABLE IF NOT EXISTS stock_movements (
+    id varchar(255) not null,
+    createdAt timestamp,
+    actorId varchar(255),
+    deltaThousandths bigint,
+    productId varchar(255),
+    reason varchar(255) check (reason in ('INITIAL_STOCK','RESTOCK','SALE','ADJUSTMENT')),
+    primary key (id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_stock_movements_product ON stock_movements(productId);
+
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    productId VARCHAR(255) PRIMARY KEY,
+    quantityThousandths INTEGER NOT NULL,
+    lastMovementRowid INTEGER NOT NULL,
+    takenAt TIMESTAMP NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS sales (
+    id varchar(255) not null,
+    createdAt timestamp,
+    cashierId varchar(255),
+    totalCents bigint,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS sale_lines (
+    saleId varchar(255) not null,
+    barcode varchar(255),
+    description varchar(255),
+    productId varchar(255),
+    quantityThousandths bigint,
+    totalCents bigint,
+    unitPriceCents bigint,
+    lineNumber integer not null,
+    primary key (saleId, lineNumber)
+);
@@ -0,0 +1,11 @@
+-- Indexes for the lookups the application makes beyond primary keys.
+
+-- Login looks users up by name; the seeder and the user repository already treat it as unique.
+CREATE UNIQUE INDEX ux_users_username ON users(username);
+
+-- Sales by day and by cashier (closing the till, daily totals).
+CREATE INDEX ix_sales_created ON sales(createdAt);
+CREATE INDEX ix_sales_cashier ON sales(cashierId, createdAt);
+
+-- Units sold per product.
+CREATE INDEX ix_sale_lines_product ON sale_lines(productId);
@@ -0,0 +1,21 @@
+-- Gives the rows of the append-only tables time-ordered UUIDv7 ids, like the ones new entities get, so
+-- their primary keys are ordered by insertion from the start. Built from createdAt (milliseconds) and the
+-- rowid for the timestamp and counter, plus random bits; rowids do not change.
+-- Products and users keep their ids: they are referenced from outside the database and their tables are
+-- small and rarely inserted into.
+
+UPDATE stock_movements SET id = lower(
+    printf('%08x', coalesce(createdAt, 0) >> 16) || '-' || printf('%04x', coalesce(createdAt, 0) & 65535)
+    || '-7' || printf('%03x', rowid & 4095)
+    || '-' || substr('89ab', 1 + abs(random() % 4), 1) || substr(hex(randomblob(2)), 2)
+    || '-' || hex(randomblob(6)));
+
+CREATE TEMP TABLE sale_ids AS SELECT id AS oldId, lower(
+    printf('%08x', coalesce(createdAt, 0) >> 16) || '-' || printf('%04x', coalesce(createdAt, 0) & 65535)
+    || '-7' || printf('%03x', rowid & 4095)
+    || '-' || substr('89ab', 1 + abs(random() % 4), 1) || substr(hex(randomblob(2)), 2)
+    || '-' || hex(randomblob(6))) AS newId FROM sales;
+
+UPDATE sale_lines SET saleId = (SELECT newId FROM sale_ids WHERE oldId = sale_lines.saleId);
+UPDATE sales SET id = (SELECT newId FROM sale_ids WHERE oldId = sales.id);
+DROP TABLE sale_ids;
@@ -0,0 +1,22 @@
+-- Progress of supplier catalog imports, one row per file contents, committed with each chunk so an
+-- interrupted import resumes after the last committed line.
+CREATE TABLE catalog_imports (
+    sourceId TEXT NOT NULL PRIMARY KEY,
+    sourceName TEXT NOT NULL,
+    lastLine INTEGER NOT NULL,
+    created INTEGER NOT NULL,
+    restocked INTEGER NOT NULL,
+    rejected INTEGER NOT NULL,
+    completed INTEGER NOT NULL,
+    startedAt TIMESTAMP NOT NULL,
+    updatedAt TIMESTAMP NOT NULL
+);
+
+-- Catalog lines that were not imported, for the report.
+CREATE TABLE catalog_import_rejections (
+    sourceId TEXT NOT NULL,
+    line INTEGER NOT NULL,
+    barcode TEXT,
+    reason TEXT NOT NULL,
+    PRIMARY KEY (sourceId, line)
+);
@@ -0,0 +1,16 @@
+-- Materializes the sale price of every product next to its cost, so the till reads it instead of applying
+-- the margin on every scan. The margin is kept in basis points (0.50 is 5000) and the price in cents,
+-- computed with the same integer formula as Margin.applyTo: cost * (1 + margin), rounded half up.
+-- Existing products are priced at the configured default margin, or 50% if none was ever saved.
+
+ALTER TABLE products ADD COLUMN priceCents INTEGER;
+ALTER TABLE products ADD COLUMN marginBasisPoints INTEGER;
+
+UPDATE products SET marginBasisPoints = coalesce(
+    (SELECT CAST(round(defaultProfitMargin * 10000) AS INTEGER) FROM global_configuration
+     ORDER BY createdAt LIMIT 1),
+    5000)
+WHERE costCents IS NOT NULL;
+
+UPDATE products SET priceCents = (costCents * (10000 + marginBasisPoints) + 5000) / 10000
+WHERE costCents IS NOT NULL;
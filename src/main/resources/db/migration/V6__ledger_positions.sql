@@ -0,0 +1,27 @@
+-- Gives every stock movement an explicit ledger position. Snapshots used to remember the implicit rowid of
+-- the last movement they folded in, but stock_movements has a TEXT primary key, so VACUUM may renumber its
+-- rowids and the boundary would no longer separate folded from pending movements.
+-- ledgerPosition is an INTEGER PRIMARY KEY AUTOINCREMENT: it is the rowid itself, never renumbered and never
+-- reused. Existing movements keep their current rowid as their position, so existing snapshots stay valid.
+
+CREATE TABLE stock_movements_positioned (
+    ledgerPosition INTEGER PRIMARY KEY AUTOINCREMENT,
+    id varchar(255) not null,
+    createdAt timestamp,
+    actorId varchar(255),
+    deltaThousandths bigint,
+    productId varchar(255),
+    reason varchar(255) check (reason in ('INITIAL_STOCK','RESTOCK','SALE','ADJUSTMENT'))
+);
+
+INSERT INTO stock_movements_positioned
+    (ledgerPosition, id, createdAt, actorId, deltaThousandths, productId, reason)
+SELECT rowid, id, createdAt, actorId, deltaThousandths, productId, reason FROM stock_movements ORDER BY rowid;
+
+DROP TABLE stock_movements;
+ALTER TABLE stock_movements_positioned RENAME TO stock_movements;
+
+CREATE UNIQUE INDEX ux_stock_movements_id ON stock_movements(id);
+CREATE INDEX ix_stock_movements_product ON stock_movements(productId, ledgerPosition);
+
+ALTER TABLE stock_snapshots RENAME COLUMN lastMovementRowid TO lastLedgerPosition;
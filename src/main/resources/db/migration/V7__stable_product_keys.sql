@@ -0,0 +1,51 @@
+-- Gives products a stable integer key for the full-text index. products_fts rows share their rowid with the
+-- product they index, but products has a TEXT primary key, so VACUUM may renumber its implicit rowids; the
+-- update and delete triggers would then remove another product's index row, or none.
+-- rowKey is an INTEGER PRIMARY KEY, i.e. the rowid itself, which VACUUM keeps. The id stays the identifier
+-- the application uses, now as a unique column. The search index is rebuilt from the new keys, in case a
+-- VACUUM already ran.
+
+CREATE TABLE products_keyed (
+    rowKey INTEGER PRIMARY KEY,
+    id varchar(255) not null,
+    createdAt timestamp,
+    value varchar(255),
+    costCents bigint,
+    description varchar(255),
+    name varchar(255),
+    unitType varchar(255) check (unitType in ('UNIT','FRACTION')),
+    version bigint,
+    priceCents INTEGER,
+    marginBasisPoints INTEGER
+);
+
+INSERT INTO products_keyed
+    (rowKey, id, createdAt, value, costCents, description, name, unitType, version, priceCents, marginBasisPoints)
+SELECT rowid, id, createdAt, value, costCents, description, name, unitType, version, priceCents, marginBasisPoints
+FROM products ORDER BY rowid;
+
+DROP TABLE products;
+ALTER TABLE products_keyed RENAME TO products;
+
+CREATE UNIQUE INDEX ux_products_id ON products(id);
+CREATE UNIQUE INDEX ux_products_barcode ON products(value);
+CREATE INDEX ix_products_name ON products(name, id);
+
+DELETE FROM products_fts;
+INSERT INTO products_fts(rowid, product_id, name, description, barcode)
+SELECT rowKey, id, name, description, value FROM products;
+
+CREATE TRIGGER trg_products_fts_insert AFTER INSERT ON products BEGIN
+    INSERT INTO products_fts(rowid, product_id, name, description, barcode)
+    VALUES (new.rowKey, new.id, new.name, new.description, new.value);
+END;
+
+CREATE TRIGGER trg_products_fts_update AFTER UPDATE OF name, description, value ON products BEGIN
+    DELETE FROM products_fts WHERE rowid = old.rowKey;
+    INSERT INTO products_fts(rowid, product_id, name, description, barcode)
+    VALUES (new.rowKey, new.id, new.name, new.description, new.value);
+END;
+
+CREATE TRIGGER trg_products_fts_delete AFTER DELETE ON products BEGIN
+    DELETE FROM products_fts WHERE rowid = old.rowKey;
+END;
@@ -0,0 +1,65 @@
+-- Stores the ids of the stock ledger and of sales as 16-byte BLOBs instead of 36-character text. These are
+-- the tables that grow with every sale, and each of their ids is repeated in a primary key or unique index
+-- (and, for sales, in every sale line), so halving the key shrinks the table and its indexes alike.
+-- The application still sees the text form: AppendOnlyEntity maps the column to a UUID and back.
+-- unhex() returns NULL for anything that is not a UUID, which the NOT NULL columns turn into a failed
+-- migration rather than a silently lost row.
+
+CREATE TABLE stock_movements_compact (
+    ledgerPosition INTEGER PRIMARY KEY AUTOINCREMENT,
+    id BLOB not null,
+    createdAt timestamp,
+    actorId varchar(255),
+    deltaThousandths bigint,
+    productId varchar(255),
+    reason varchar(255) check (reason in ('INITIAL_STOCK','RESTOCK','SALE','ADJUSTMENT'))
+);
+
+INSERT INTO stock_movements_compact
+    (ledgerPosition, id, createdAt, actorId, deltaThousandths, productId, reason)
+SELECT ledgerPosition, unhex(replace(id, '-', '')), createdAt, actorId, deltaThousandths, productId, reason
+FROM stock_movements ORDER BY ledgerPosition;
+
+DROP TABLE stock_movements;
+ALTER TABLE stock_movements_compact RENAME TO stock_movements;
+
+CREATE UNIQUE INDEX ux_stock_movements_id ON stock_movements(id);
+CREATE INDEX ix_stock_movements_product ON stock_movements(productId, ledgerPosition);
+
+CREATE TABLE sales_compact (
+    id BLOB not null,
+    createdAt timestamp,
+    cashierId varchar(255),
+    totalCents bigint,
+    primary key (id)
+);
+
+INSERT INTO sales_compact (id, createdAt, cashierId, totalCents)
+SELECT unhex(replace(id, '-', '')), createdAt, cashierId, totalCents FROM sales ORDER BY rowid;
+
+CREATE TABLE sale_lines_compact (
+    saleId BLOB not null,
+    barcode varchar(255),
+    description varchar(255),
+    productId varchar(255),
+    quantityThousandths bigint,
+    totalCents bigint,
+    unitPriceCents bigint,
+    lineNumber integer not null,
+    primary key (saleId, lineNumber)
+);
+
+INSERT INTO sale_lines_compact
+    (saleId, barcode, description, productId, quantityThousandths, totalCents, unitPriceCents, lineNumber)
+SELECT unhex(replace(saleId, '-', '')), barcode, description, productId, quantityThousandths, totalCents,
+    unitPriceCents, lineNumber
+FROM sale_lines ORDER BY rowid;
+
+DROP TABLE sale_lines;
+DROP TABLE sales;
+ALTER TABLE sales_compact RENAME TO sales;
+ALTER TABLE sale_lines_compact RENAME TO sale_lines;
+
+CREATE INDEX ix_sales_created ON sales(createdAt);
+CREATE INDEX ix_sales_cashier ON sales(cashierId, createdAt);
+CREATE INDEX ix_sale_lines_product ON sale_lines(productId);
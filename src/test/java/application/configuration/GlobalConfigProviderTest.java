@@ -0,0 +1,78 @@
+package application.configuration;
+
+import application.interfaces.GlobalConfigRepository;
+import domain.common.Margin;
+import domain.configuration.GlobalConfig;
+import domain.configuration.GlobalConfigSnapshot;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalConfigProviderTest {
+
+    private GlobalConfig stored;
+    private int reads;
+
+    private final GlobalConfigRepository fakeRepo = new GlobalConfigRepository() {
+        @Override
+        public GlobalConfig save(GlobalConfig config) {
+            stored = config;
+            return config;
+        }
+
+        @Override
+        public Optional<GlobalConfig> find() {
+            reads++;
+            return Optional.ofNullable(stored);
+        }
+    };
+
+    private final GlobalConfigProvider provider = new GlobalConfigProvider(fakeRepo);
+
+    @Test
+    @DisplayName("Should read the configuration once and serve the snapshot afterwards")
+    void shouldLoadOnce() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(new Margin(5_000), provider.current().profitMargin());
+        }
+
+        assertEquals(1, reads);
+    }
+
+    @Test
+    @DisplayName("Should tell subscribers about changes only")
+    void shouldNotifyOnChange() {
+        List<GlobalConfigSnapshot> seen = new ArrayList<>();
+        provider.current();
+        provider.subscribe(seen::add);
+
+        provider.publish(new GlobalConfigSnapshot(new Margin(5_000)));
+        provider.publish(new GlobalConfigSnapshot(new Margin(3_000)));
+        stored = new GlobalConfig(new BigDecimal("0.25"));
+        provider.reload();
+
+        assertEquals(List.of(new GlobalConfigSnapshot(new Margin(3_000)), new GlobalConfigSnapshot(new Margin(2_500))),
+            seen);
+        assertEquals(new Margin(2_500), provider.current().profitMargin());
+    }
+
+    @Test
+    @DisplayName("Should keep notifying the other subscribers when one fails")
+    void shouldIsolateFailingSubscriber() {
+        List<GlobalConfigSnapshot> seen = new ArrayList<>();
+        provider.current();
+        provider.subscribe(snapshot -> {
+            throw new IllegalStateException("Broken view");
+        });
+        provider.subscribe(seen::add);
+
+        provider.publish(new GlobalConfigSnapshot(new Margin(3_000)));
+
+        assertEquals(1, seen.size());
+    }
+}
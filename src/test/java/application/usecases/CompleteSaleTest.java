@@ -0,0 +1,169 @@
+package application.usecases;
+
+import application.dtos.ProductCursor;
+import application.interfaces.ProductRepository;
+import application.interfaces.SaleRepository;
+import application.interfaces.StockMovementRepository;
+import domain.common.DomainException;
+import domain.common.Margin;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.salesbox.Basket;
+import domain.salesbox.Sale;
+import domain.salesbox.StockReservations;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.stock.StockMovementReason;
+import domain.stock.UnitType;
+import domain.users.User;
+import domain.users.UserRole;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompleteSaleTest {
+
+    private final Map<String, Product> catalog = new HashMap<>();
+    private final List<StockMovement> ledger = new ArrayList<>();
+    private final List<Sale> sales = new ArrayList<>();
+
+    private final ProductRepository fakeRepo = new ProductRepository() {
+        @Override
+        public Product save(Product product) {
+            catalog.put(product.getId(), product);
+            return product;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            return Optional.ofNullable(catalog.get(id));
+        }
+
+        @Override
+        public Optional<Product> findByBarcode(Barcode barcode) {
+            return catalog.values().stream().filter(p -> p.getBarcode().equals(barcode)).findFirst();
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return List.copyOf(catalog.values());
+        }
+
+        @Override
+        public List<Product> findPage(ProductCursor after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return Stream.empty();
+        }
+
+        @Override
+        public List<Product> search(String text, int limit) {
+            return List.of();
+        }
+    };
+
+    private final StockMovementRepository fakeLedger = ledger::addAll;
+
+    private final SaleRepository fakeSales = new SaleRepository() {
+        @Override
+        public Sale save(Sale sale) {
+            sales.add(sale);
+            return sale;
+        }
+
+        @Override
+        public Optional<Sale> findById(String id) {
+            return sales.stream().filter(s -> s.getId().equals(id)).findFirst();
+        }
+    };
+
+    private final StockReservations reservations = new StockReservations();
+    private final CompleteSale useCase = new CompleteSale(fakeRepo, fakeLedger, fakeSales, reservations);
+    private final User cashier = new User("caja1", "1234", UserRole.SELLER);
+
+    private Product coca;
+    private Product queso;
+
+    @BeforeEach
+    void setUp() {
+        coca = fakeRepo.save(new Product("Coca", new Barcode("111"), UnitType.UNIT,
+            Quantity.parse("10"), Money.parse("100.00")));
+        queso = fakeRepo.save(new Product("Queso", new Barcode("222"), UnitType.FRACTION,
+            Quantity.parse("5"), Money.parse("8000.00")));
+        coca.priceWith(Margin.of(new BigDecimal("0.50")));
+        queso.priceWith(Margin.of(new BigDecimal("0.50")));
+        coca.pullStockChanges();
+        queso.pullStockChanges();
+    }
+
+    @Test
+    @DisplayName("Should reduce stock, append sale movements and record the ticket")
+    void shouldCompleteSale() {
+        Basket basket = new Basket();
+        basket.scan(coca, Quantity.parse("1"));
+        basket.scan(coca, Quantity.parse("2"));
+        basket.scan(queso, Quantity.parse("0.250"));
+
+        Sale sale = useCase.execute(cashier, basket);
+
+        assertEquals(Quantity.parse("7"), coca.getStockQuantity());
+        assertEquals(Quantity.parse("4.750"), queso.getStockQuantity());
+        assertEquals(2, ledger.size());
+        assertTrue(ledger.stream().allMatch(m -> m.getReason() == StockMovementReason.SALE));
+        assertEquals(Quantity.parse("-3"), ledger.get(0).getDelta());
+        assertEquals(cashier.getId(), ledger.get(0).getActorId());
+        assertEquals(List.of(sale), sales);
+        assertEquals(Money.parse("3450.00"), sale.getTotal());
+        assertEquals(2, sale.getLines().size());
+        assertEquals("111", sale.getLines().get(0).getBarcode());
+    }
+
+    @Test
+    @DisplayName("Should fail when stock ran out since the products were scanned")
+    void shouldFailWhenStockRanOut() {
+        Basket basket = new Basket();
+        basket.scan(coca, Quantity.parse("8"));
+        catalog.get(coca.getId()).reduceStock(Quantity.parse("5"));
+        coca.pullStockChanges();
+
+        assertThrows(DomainException.class, () -> useCase.execute(cashier, basket));
+        assertTrue(sales.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail when a scanned product no longer exists")
+    void shouldFailWhenProductIsGone() {
+        Basket basket = new Basket();
+        basket.scan(coca, Quantity.parse("1"));
+        catalog.remove(coca.getId());
+
+        assertThrows(DomainException.class, () -> useCase.execute(cashier, basket));
+        assertTrue(ledger.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should release the basket reservations once the sale is recorded")
+    void shouldReleaseReservationsOnTender() {
+        ScanProduct scan = new ScanProduct(fakeRepo, reservations);
+        Basket basket = new Basket();
+        scan.execute(basket, "111", Quantity.parse("4"));
+
+        useCase.execute(cashier, basket);
+
+        assertEquals(Quantity.ZERO, reservations.reservedOf(coca.getId()));
+        assertEquals(Quantity.parse("6"), coca.getStockQuantity());
+    }
+}
@@ -0,0 +1,306 @@
+package application.usecases;
+
+import application.configuration.GlobalConfigProvider;
+import application.dtos.CatalogImportProgress;
+import application.dtos.CatalogImportReport;
+import application.dtos.CatalogRejection;
+import application.dtos.CatalogRow;
+import application.dtos.ProductCursor;
+import application.interfaces.CatalogImportJournal;
+import application.interfaces.CatalogSource;
+import application.interfaces.GlobalConfigRepository;
+import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
+import application.interfaces.UnitOfWork;
+import domain.common.DomainException;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.configuration.GlobalConfig;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.stock.StockMovementReason;
+import domain.stock.UnitType;
+import domain.users.User;
+import domain.users.UserRole;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportSupplierCatalogTest {
+
+    private final Map<Barcode, Product> stored = new HashMap<>();
+    private final List<Collection<Barcode>> barcodeLookups = new ArrayList<>();
+    private final List<StockMovement> ledger = new ArrayList<>();
+    private final List<CatalogImportProgress> checkpoints = new ArrayList<>();
+    private final List<CatalogRejection> rejected = new ArrayList<>();
+    private CatalogImportProgress recorded;
+    private int failLedgerAtAppend = -1;
+    private int appends;
+
+    private final ProductRepository fakeRepo = new ProductRepository() {
+        @Override
+        public Product save(Product product) {
+            stored.put(product.getBarcode(), product);
+            return product;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Product> findByBarcode(Barcode barcode) {
+            return Optional.ofNullable(stored.get(barcode));
+        }
+
+        @Override
+        public List<Product> findAllByBarcode(Collection<Barcode> barcodes) {
+            barcodeLookups.add(barcodes);
+            return ProductRepository.super.findAllByBarcode(barcodes);
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return List.copyOf(stored.values());
+        }
+
+        @Override
+        public List<Product> findPage(ProductCursor after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return Stream.empty();
+        }
+
+        @Override
+        public List<Product> search(String text, int limit) {
+            return List.of();
+        }
+    };
+
+    private final StockMovementRepository fakeLedger = movements -> {
+        if (appends++ == failLedgerAtAppend) {
+            throw new IllegalStateException("Disk full");
+        }
+        ledger.addAll(movements);
+    };
+
+    private final CatalogImportJournal fakeJournal = new CatalogImportJournal() {
+        @Override
+        public CatalogImportProgress start(CatalogSource source) {
+            if (recorded == null) {
+                recorded = CatalogImportProgress.start(source.id(), source.name());
+            }
+            return recorded;
+        }
+
+        @Override
+        public void record(CatalogImportProgress progress, List<CatalogRejection> rejections) {
+            recorded = progress;
+            checkpoints.add(progress);
+            rejected.addAll(rejections);
+        }
+
+        @Override
+        public List<CatalogRejection> rejections(String sourceId) {
+            return List.copyOf(rejected);
+        }
+    };
+
+    private final GlobalConfigRepository fakeConfig = new GlobalConfigRepository() {
+        @Override
+        public GlobalConfig save(GlobalConfig config) {
+            return config;
+        }
+
+        @Override
+        public Optional<GlobalConfig> find() {
+            return Optional.of(new GlobalConfig(new BigDecimal("0.25")));
+        }
+    };
+
+    private final User admin = new User("admin", "1234", UserRole.ADMIN);
+
+    private final ImportSupplierCatalog useCase = new ImportSupplierCatalog(fakeRepo, fakeLedger,
+        new GlobalConfigProvider(fakeConfig), fakeJournal, UnitOfWork.direct());
+
+    private static CatalogSource catalog(CatalogRow... rows) {
+        return new CatalogSource() {
+            @Override
+            public String id() {
+                return "abc123";
+            }
+
+            @Override
+            public String name() {
+                return "proveedor.csv";
+            }
+
+            @Override
+            public Stream<CatalogRow> rows() {
+                return Stream.of(rows);
+            }
+        };
+    }
+
+    private static CatalogRow row(long line, String barcode, String quantity, String cost) {
+        return new CatalogRow(line, barcode, "Producto " + barcode, "Descripción", "UNIT", quantity, cost);
+    }
+
+    private void storeExisting(String barcode) {
+        Product product = new Product("Yerba", new Barcode(barcode), UnitType.UNIT, Quantity.parse("10"),
+            Money.parse("100"));
+        product.setDescription("Yerba mate");
+        product.pullStockChanges();
+        stored.put(product.getBarcode(), product);
+    }
+
+    @Test
+    @DisplayName("Should create unknown products and restock existing ones, recording every entry in the ledger")
+    void shouldCreateAndRestock() {
+        storeExisting("111");
+
+        CatalogImportReport report = useCase.execute(admin, catalog(
+            row(2, "111", "5", "120"),
+            row(3, "222", "8", "50")), 100);
+
+        assertEquals(1, report.progress().created());
+        assertEquals(1, report.progress().restocked());
+        assertTrue(report.progress().completed());
+        assertTrue(report.rejections().isEmpty());
+        assertFalse(report.resumed());
+
+        assertEquals(new Quantity(15_000), stored.get(new Barcode("111")).getStockQuantity());
+        assertEquals(Money.parse("120"), stored.get(new Barcode("111")).getCost());
+        assertEquals("Producto 222", stored.get(new Barcode("222")).getName());
+        assertEquals(Money.parse("62.50"), stored.get(new Barcode("222")).getPrice());
+        assertEquals(List.of(StockMovementReason.RESTOCK, StockMovementReason.INITIAL_STOCK),
+            ledger.stream().map(StockMovement::getReason).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid lines with their line number and import the rest")
+    void shouldRejectInvalidLines() {
+        storeExisting("111");
+
+        CatalogImportReport report = useCase.execute(admin, catalog(
+            row(2, null, "5", "120"),
+            row(3, "222", "abc", "50"),
+            new CatalogRow(4, "333", "Galletas", null, "UNIT", "3", "20"),
+            row(5, "444", "1.5", "20"),
+            row(6, "111", "0", "120"),
+            row(7, "555", "2", "10")), 100);
+
+        assertEquals(1, report.progress().created());
+        assertEquals(5, report.progress().rejected());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), report.rejections().stream().map(CatalogRejection::line).toList());
+        assertEquals("Barcode is required.", report.rejections().get(0).reason());
+        assertEquals("Invalid quantity: abc", report.rejections().get(1).reason());
+        assertEquals("Product description is required for new products.", report.rejections().get(2).reason());
+        assertEquals(new Quantity(10_000), stored.get(new Barcode("111")).getStockQuantity());
+        assertTrue(stored.containsKey(new Barcode("555")));
+        assertEquals(1, ledger.size());
+    }
+
+    @Test
+    @DisplayName("Should restock a product created by an earlier line of the same file")
+    void shouldRestockProductCreatedInSameFile() {
+        useCase.execute(admin, catalog(
+            row(2, "222", "8", "50"),
+            row(3, "222", "2", "55")), 100);
+
+        Product product = stored.get(new Barcode("222"));
+        assertEquals(new Quantity(10_000), product.getStockQuantity());
+        assertEquals(Money.parse("55"), product.getCost());
+        assertEquals(2, ledger.size());
+    }
+
+    @Test
+    @DisplayName("Should look barcodes up once per chunk and checkpoint after every chunk")
+    void shouldWorkInChunks() {
+        CatalogImportReport report = useCase.execute(admin, catalog(
+            row(2, "1", "1", "10"),
+            row(3, "2", "1", "10"),
+            row(4, "3", "1", "10"),
+            row(5, "4", "1", "10"),
+            row(6, "5", "1", "10")), 2);
+
+        assertEquals(3, barcodeLookups.size());
+        assertEquals(2, barcodeLookups.get(0).size());
+        assertEquals(List.of(3L, 5L, 6L), checkpoints.stream().map(CatalogImportProgress::lastLine).toList());
+        assertEquals(List.of(false, false, true), checkpoints.stream().map(CatalogImportProgress::completed).toList());
+        assertEquals(5, report.progress().created());
+    }
+
+    @Test
+    @DisplayName("Should resume after the last committed chunk when an import is run again")
+    void shouldResumeAfterFailure() {
+        CatalogSource source = catalog(
+            row(2, "1", "1", "10"),
+            row(3, "2", "1", "10"),
+            row(4, "3", "1", "10"));
+        failLedgerAtAppend = 1;
+
+        assertThrows(IllegalStateException.class, () -> useCase.execute(admin, source, 2));
+        assertEquals(3L, recorded.lastLine());
+        assertFalse(recorded.completed());
+
+        stored.clear();
+        CatalogImportReport report = useCase.execute(admin, source, 2);
+
+        assertTrue(report.resumed());
+        assertEquals(Optional.empty(), fakeRepo.findByBarcode(new Barcode("1")));
+        assertTrue(stored.containsKey(new Barcode("3")));
+        assertEquals(3, report.progress().created());
+        assertTrue(report.progress().completed());
+    }
+
+    @Test
+    @DisplayName("Should refuse to import a catalog that was already imported")
+    void shouldRefuseCompletedCatalog() {
+        CatalogSource source = catalog(row(2, "1", "1", "10"));
+        useCase.execute(admin, source, 100);
+
+        DomainException e = assertThrows(DomainException.class, () -> useCase.execute(admin, source, 100));
+        assertEquals("Catalog proveedor.csv was already imported.", e.getMessage());
+        assertEquals(1, ledger.size());
+    }
+
+    @Test
+    @DisplayName("Should not record an import whose catalog header is not understood")
+    void shouldNotRecordCatalogWithBadHeader() {
+        CatalogSource source = new CatalogSource() {
+            @Override
+            public String id() {
+                return "abc123";
+            }
+
+            @Override
+            public String name() {
+                return "proveedor.csv";
+            }
+
+            @Override
+            public Stream<CatalogRow> rows() {
+                throw new DomainException("The catalog header has no barcode column: name,cost");
+            }
+        };
+
+        assertThrows(DomainException.class, () -> useCase.execute(admin, source, 100));
+        assertNull(recorded);
+        assertTrue(checkpoints.isEmpty());
+    }
+}
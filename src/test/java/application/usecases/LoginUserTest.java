@@ -10,6 +10,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -71,4 +72,32 @@ class LoginUserTest {
         });
         assertFalse(sessionContext.getCurrentUser().isPresent());
     }
+
+    @Test
+    @DisplayName("Should wait for the storage before checking the credentials")
+    void shouldWaitForStorage() throws Exception {
+        CompletableFuture<Void> storageReady = new CompletableFuture<>();
+        LoginUser waitingLogin = new LoginUser(fakeRepo, sessionContext, storageReady);
+
+        CompletableFuture<User> login = CompletableFuture.supplyAsync(() -> waitingLogin.execute("admin", "1234"));
+        Thread.sleep(50);
+        assertFalse(login.isDone());
+
+        storageReady.complete(null);
+        assertEquals("admin", login.get().getUsername());
+    }
+
+    @Test
+    @DisplayName("Should fail when the storage could not start")
+    void shouldFail_WhenStorageFailed() {
+        LoginUser failedLogin = new LoginUser(fakeRepo, sessionContext,
+            CompletableFuture.failedFuture(new IllegalStateException("disk full")));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> failedLogin.execute("admin", "1234"));
+
+        assertFalse(exception instanceof DomainException);
+        assertEquals("disk full", exception.getCause().getMessage());
+        assertFalse(sessionContext.getCurrentUser().isPresent());
+    }
 }
@@ -0,0 +1,183 @@
+package application.usecases;
+
+import application.configuration.GlobalConfigProvider;
+import application.dtos.ProductCursor;
+import application.dtos.ProductEntryDTO;
+import application.interfaces.GlobalConfigRepository;
+import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
+import domain.common.DomainException;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.configuration.GlobalConfig;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.stock.StockMovementReason;
+import domain.stock.UnitType;
+import domain.users.User;
+import domain.users.UserRole;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReceiveGoodsTest {
+
+    private final Map<Barcode, Product> stored = new HashMap<>();
+    private final List<Product> saved = new ArrayList<>();
+    private final List<StockMovement> ledger = new ArrayList<>();
+    private int bulkLookups;
+    private int singleLookups;
+
+    private final ProductRepository fakeRepo = new ProductRepository() {
+        @Override
+        public Product save(Product product) {
+            saved.add(product);
+            stored.put(product.getBarcode(), product);
+            return product;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Product> findByBarcode(Barcode barcode) {
+            singleLookups++;
+            return Optional.ofNullable(stored.get(barcode));
+        }
+
+        @Override
+        public List<Product> findAllByBarcode(Collection<Barcode> barcodes) {
+            bulkLookups++;
+            return barcodes.stream().map(stored::get).filter(product -> product != null).toList();
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return List.copyOf(stored.values());
+        }
+
+        @Override
+        public List<Product> findPage(ProductCursor after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return Stream.empty();
+        }
+
+        @Override
+        public List<Product> search(String text, int limit) {
+            return List.of();
+        }
+    };
+
+    private final StockMovementRepository fakeLedger = ledger::addAll;
+
+    private final GlobalConfigRepository fakeConfig = new GlobalConfigRepository() {
+        @Override
+        public GlobalConfig save(GlobalConfig config) {
+            return config;
+        }
+
+        @Override
+        public Optional<GlobalConfig> find() {
+            return Optional.empty();
+        }
+    };
+
+    private final ReceiveGoods useCase = new ReceiveGoods(fakeRepo, fakeLedger,
+        new GlobalConfigProvider(fakeConfig));
+    private final User seller = new User("vendedor", "1234", UserRole.SELLER);
+
+    private void storeExisting(String barcode) {
+        Product product = new Product("Yerba", new Barcode(barcode), UnitType.UNIT, Quantity.parse("10"),
+            Money.parse("100"));
+        product.setDescription("Yerba mate");
+        product.pullStockChanges();
+        stored.put(product.getBarcode(), product);
+    }
+
+    private static ProductEntryDTO line(String barcode, String quantity, String cost) {
+        return new ProductEntryDTO("Producto " + barcode, "Descripción", barcode, UnitType.UNIT,
+            Quantity.parse(quantity), Money.parse(cost));
+    }
+
+    @Test
+    @DisplayName("Should restock known products and create new ones with a single barcode lookup")
+    void shouldReceiveWholeNote() {
+        storeExisting("111");
+        storeExisting("222");
+
+        List<Product> received = useCase.execute(seller, List.of(
+            line("111", "5", "110"),
+            line("333", "12", "40"),
+            line("222", "1", "95")));
+
+        assertEquals(1, bulkLookups);
+        assertEquals(0, singleLookups);
+        assertEquals(3, received.size());
+        assertEquals(new Quantity(15_000), stored.get(new Barcode("111")).getStockQuantity());
+        assertEquals(Money.parse("95"), stored.get(new Barcode("222")).getCost());
+        assertEquals("Producto 333", stored.get(new Barcode("333")).getName());
+        assertEquals(Money.parse("60"), stored.get(new Barcode("333")).getPrice());
+        assertEquals(List.of(StockMovementReason.RESTOCK, StockMovementReason.INITIAL_STOCK,
+            StockMovementReason.RESTOCK), ledger.stream().map(StockMovement::getReason).toList());
+        assertTrue(ledger.stream().allMatch(movement -> movement.getActorId().equals(seller.getId())));
+    }
+
+    @Test
+    @DisplayName("Should restock a product created by an earlier line of the same note")
+    void shouldMergeRepeatedBarcodes() {
+        List<Product> received = useCase.execute(seller, List.of(
+            line("333", "12", "40"),
+            line("333", "3", "42")));
+
+        assertEquals(1, received.size());
+        assertEquals(new Quantity(15_000), received.get(0).getStockQuantity());
+        assertEquals(Money.parse("42"), received.get(0).getCost());
+        assertEquals(2, ledger.size());
+    }
+
+    @Test
+    @DisplayName("Should persist nothing when any line breaks a business rule")
+    void shouldRejectWholeNote() {
+        storeExisting("111");
+
+        DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, List.of(
+            line("111", "5", "110"),
+            new ProductEntryDTO("Galletas", null, "444", UnitType.UNIT, Quantity.parse("3"), Money.parse("20")))));
+
+        assertEquals("Line 2 (444): Product description is required for new products.", e.getMessage());
+        assertTrue(saved.isEmpty());
+        assertTrue(ledger.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should name the line missing its barcode before looking anything up")
+    void shouldRequireBarcodes() {
+        DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, List.of(
+            line("111", "5", "110"),
+            line(" ", "1", "10"))));
+
+        assertEquals("Line 2: Barcode is required.", e.getMessage());
+        assertEquals(0, bulkLookups);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty delivery note")
+    void shouldRejectEmptyNote() {
+        assertThrows(DomainException.class, () -> useCase.execute(seller, List.of()));
+    }
+}
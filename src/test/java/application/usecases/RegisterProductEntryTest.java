@@ -1,16 +1,26 @@
 package application.usecases;
 
+import application.configuration.GlobalConfigProvider;
+import application.dtos.ProductCursor;
 import application.dtos.ProductEntryDTO;
+import application.interfaces.GlobalConfigRepository;
 import application.interfaces.ProductRepository;
+import application.interfaces.StockMovementRepository;
 import domain.common.DomainException;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.configuration.GlobalConfig;
 import domain.stock.Barcode;
 import domain.stock.Product;
+import domain.stock.StockMovement;
+import domain.stock.StockMovementReason;
 import domain.stock.UnitType;
 import domain.users.User;
 import domain.users.UserRole;
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -19,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class RegisterProductEntryTest {
 
     private Product storedProduct;
+    private final List<StockMovement> ledger = new ArrayList<>();
 
     private final ProductRepository fakeRepo = new ProductRepository() {
         @Override
@@ -41,16 +52,46 @@ class RegisterProductEntryTest {
         public List<Product> findAll() {
             return List.of();
         }
+
+        @Override
+        public List<Product> findPage(ProductCursor after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return Stream.empty();
+        }
+
+        @Override
+        public List<Product> search(String text, int limit) {
+            return List.of();
+        }
+    };
+
+    private final StockMovementRepository fakeLedger = ledger::addAll;
+
+    private final GlobalConfigRepository fakeConfig = new GlobalConfigRepository() {
+        @Override
+        public GlobalConfig save(GlobalConfig config) {
+            return config;
+        }
+
+        @Override
+        public Optional<GlobalConfig> find() {
+            return Optional.empty();
+        }
     };
 
-    private final RegisterProductEntry useCase = new RegisterProductEntry(fakeRepo);
+    private final RegisterProductEntry useCase = new RegisterProductEntry(fakeRepo, fakeLedger,
+        new GlobalConfigProvider(fakeConfig));
     private final User seller = new User("vendedor", "1234", UserRole.SELLER);
 
     @Test
     @DisplayName("Should create new product successfully with all fields")
     void shouldCreateNewProduct() {
         ProductEntryDTO dto = new ProductEntryDTO(
-            "Coca", "Deliciosa", "111", UnitType.UNIT, new BigDecimal("10"), new BigDecimal("100")
+            "Coca", "Deliciosa", "111", UnitType.UNIT, Quantity.parse("10"), Money.parse("100")
         );
 
         assertDoesNotThrow(() -> useCase.execute(seller, dto));
@@ -58,14 +99,51 @@ class RegisterProductEntryTest {
         assertNotNull(storedProduct);
         assertEquals("Coca", storedProduct.getName());
         assertEquals("Deliciosa", storedProduct.getDescription());
-        assertEquals(new BigDecimal("100"), storedProduct.getCost());
+        assertEquals(Money.parse("100"), storedProduct.getCost());
+        assertEquals(Money.parse("150"), storedProduct.getPrice());
+    }
+
+    @Test
+    @DisplayName("Should restock existing product and return it")
+    void shouldRestockExistingProductAndReturnIt() {
+        useCase.execute(seller, new ProductEntryDTO(
+            "Coca", "Deliciosa", "111", UnitType.UNIT, Quantity.parse("10"), Money.parse("100")
+        ));
+
+        Product restocked = useCase.execute(seller, new ProductEntryDTO(
+            null, null, "111", null, Quantity.parse("5"), Money.parse("120")
+        ));
+
+        assertSame(storedProduct, restocked);
+        assertEquals(Quantity.parse("15"), restocked.getStockQuantity());
+        assertEquals(Money.parse("120"), restocked.getCost());
+        assertEquals(Money.parse("180"), restocked.getPrice());
+    }
+
+    @Test
+    @DisplayName("Should append initial stock and restock movements made by the actor")
+    void shouldAppendStockMovementsForActor() {
+        useCase.execute(seller, new ProductEntryDTO(
+            "Coca", "Deliciosa", "111", UnitType.UNIT, Quantity.parse("10"), Money.parse("100")
+        ));
+        useCase.execute(seller, new ProductEntryDTO(
+            null, null, "111", null, Quantity.parse("5"), Money.parse("120")
+        ));
+
+        assertEquals(2, ledger.size());
+        assertEquals(StockMovementReason.INITIAL_STOCK, ledger.get(0).getReason());
+        assertEquals(Quantity.parse("10"), ledger.get(0).getDelta());
+        assertEquals(StockMovementReason.RESTOCK, ledger.get(1).getReason());
+        assertEquals(Quantity.parse("5"), ledger.get(1).getDelta());
+        assertEquals(storedProduct.getId(), ledger.get(1).getProductId());
+        assertEquals(seller.getId(), ledger.get(1).getActorId());
     }
 
     @Test
     @DisplayName("Should fail when Barcode is missing")
     void shouldFail_WhenBarcodeIsMissing() {
         ProductEntryDTO dto = new ProductEntryDTO(
-            "Coca", "Desc", "", UnitType.UNIT, BigDecimal.TEN, BigDecimal.TEN
+            "Coca", "Desc", "", UnitType.UNIT, Quantity.parse("10"), Money.parse("10")
         );
 
         DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, dto));
@@ -76,7 +154,7 @@ class RegisterProductEntryTest {
     @DisplayName("Should fail when Name is missing for new product")
     void shouldFail_WhenNameIsMissing() {
         ProductEntryDTO dto = new ProductEntryDTO(
-            "", "Desc", "123", UnitType.UNIT, BigDecimal.TEN, BigDecimal.TEN
+            "", "Desc", "123", UnitType.UNIT, Quantity.parse("10"), Money.parse("10")
         );
 
         DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, dto));
@@ -87,7 +165,7 @@ class RegisterProductEntryTest {
     @DisplayName("Should fail when Description is missing for new product")
     void shouldFail_WhenDescriptionIsMissing() {
         ProductEntryDTO dto = new ProductEntryDTO(
-            "Coca", "", "123", UnitType.UNIT, BigDecimal.TEN, BigDecimal.TEN
+            "Coca", "", "123", UnitType.UNIT, Quantity.parse("10"), Money.parse("10")
         );
 
         DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, dto));
@@ -98,7 +176,7 @@ class RegisterProductEntryTest {
     @DisplayName("Should fail when Cost is missing (null)")
     void shouldFail_WhenCostIsMissing() {
         ProductEntryDTO dto = new ProductEntryDTO(
-            "Coca", "Desc", "123", UnitType.UNIT, BigDecimal.TEN, null
+            "Coca", "Desc", "123", UnitType.UNIT, Quantity.parse("10"), null
         );
 
         DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, dto));
@@ -109,7 +187,7 @@ class RegisterProductEntryTest {
     @DisplayName("Should fail when UnitType is missing (null)")
     void shouldFail_WhenUnitTypeIsMissing() {
         ProductEntryDTO dto = new ProductEntryDTO(
-            "Coca", "Desc", "123", null, BigDecimal.TEN, BigDecimal.TEN
+            "Coca", "Desc", "123", null, Quantity.parse("10"), Money.parse("10")
         );
 
         DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, dto));
@@ -120,7 +198,7 @@ class RegisterProductEntryTest {
     @DisplayName("Should fail when Quantity is missing (null)")
     void shouldFail_WhenQuantityIsMissing() {
         ProductEntryDTO dto = new ProductEntryDTO(
-            "Coca", "Desc", "123", UnitType.UNIT, null, BigDecimal.TEN
+            "Coca", "Desc", "123", UnitType.UNIT, null, Money.parse("10")
         );
 
         DomainException e = assertThrows(DomainException.class, () -> useCase.execute(seller, dto));
@@ -0,0 +1,147 @@
+package application.usecases;
+
+import application.dtos.ProductCursor;
+import application.interfaces.ProductRepository;
+import domain.common.DomainException;
+import domain.common.Margin;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.salesbox.Basket;
+import domain.salesbox.StockReservations;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.UnitType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanProductTest {
+
+    private final Product coca = new Product("Coca", new Barcode("111"), UnitType.UNIT,
+        Quantity.parse("2"), Money.parse("100.00"));
+
+    private final ProductRepository fakeRepo = new ProductRepository() {
+        @Override
+        public Product save(Product product) {
+            return product;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            return coca.getId().equals(id) ? Optional.of(coca) : Optional.empty();
+        }
+
+        @Override
+        public Optional<Product> findByBarcode(Barcode barcode) {
+            return coca.getBarcode().equals(barcode) ? Optional.of(coca) : Optional.empty();
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return List.of(coca);
+        }
+
+        @Override
+        public List<Product> findPage(ProductCursor after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return Stream.empty();
+        }
+
+        @Override
+        public List<Product> search(String text, int limit) {
+            return List.of();
+        }
+    };
+
+    private final StockReservations reservations = new StockReservations();
+    private final ScanProduct useCase = new ScanProduct(fakeRepo, reservations);
+
+    private Basket newBasket() {
+        return new Basket();
+    }
+
+    @BeforeEach
+    void priceProducts() {
+        coca.priceWith(Margin.of(new BigDecimal("0.50")));
+    }
+
+    @Test
+    @DisplayName("Should not let two baskets take the same last units")
+    void shouldReserveAcrossBaskets() {
+        Basket first = newBasket();
+        Basket second = newBasket();
+
+        useCase.execute(first, "111", Quantity.parse("2"));
+
+        assertThrows(DomainException.class, () -> useCase.execute(second, "111", Quantity.parse("1")));
+        assertTrue(second.isEmpty());
+        assertEquals(Quantity.parse("2"), reservations.reservedOf(coca.getId()));
+    }
+
+    @Test
+    @DisplayName("Should give the stock back when a line or basket is dropped")
+    void shouldReleaseDroppedLines() {
+        Basket first = newBasket();
+        Basket second = newBasket();
+        useCase.execute(first, "111", Quantity.parse("1"));
+        useCase.execute(second, "111", Quantity.parse("1"));
+
+        useCase.remove(first, "111");
+        useCase.abandon(second);
+
+        assertEquals(Quantity.ZERO, reservations.reservedOf(coca.getId()));
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fail for unknown barcodes without reserving anything")
+    void shouldFailForUnknownBarcode() {
+        assertThrows(DomainException.class, () -> useCase.execute(newBasket(), "999", Quantity.parse("1")));
+    }
+
+    @Test
+    @DisplayName("Should never reserve more than the stock under concurrent scans")
+    void shouldNotOversellUnderConcurrency() throws Exception {
+        Product popular = new Product("Yerba", new Barcode("222"), UnitType.UNIT,
+            Quantity.parse("100"), Money.parse("100.00"));
+        ExecutorService tills = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> scans = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                scans.add(() -> {
+                    try {
+                        reservations.reserve(popular, Quantity.parse("1"));
+                        return true;
+                    } catch (DomainException e) {
+                        return false;
+                    }
+                });
+            }
+            long reserved = 0;
+            for (Future<Boolean> scan : tills.invokeAll(scans)) {
+                reserved += scan.get() ? 1 : 0;
+            }
+
+            assertEquals(100, reserved);
+            assertEquals(Quantity.parse("100"), reservations.reservedOf(popular.getId()));
+        } finally {
+            tills.shutdown();
+        }
+    }
+}
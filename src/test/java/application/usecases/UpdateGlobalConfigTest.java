@@ -1,13 +1,23 @@
 package application.usecases;
 
+import application.configuration.GlobalConfigProvider;
+import application.dtos.ProductCursor;
 import application.interfaces.GlobalConfigRepository;
+import application.interfaces.ProductRepository;
 import domain.common.DomainException;
+import domain.common.Margin;
 import domain.configuration.GlobalConfig;
+import domain.configuration.GlobalConfigSnapshot;
+import domain.stock.Barcode;
+import domain.stock.Product;
 import domain.users.User;
 import domain.users.UserRole;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,7 +43,53 @@ class UpdateGlobalConfigTest {
         }
     };
 
-    private final UpdateGlobalConfig useCase = new UpdateGlobalConfig(fakeRepo);
+    private final List<Margin> repricings = new ArrayList<>();
+
+    private final ProductRepository fakeProducts = new ProductRepository() {
+        @Override
+        public Product save(Product product) {
+            return product;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<Product> findByBarcode(Barcode barcode) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return List.of();
+        }
+
+        @Override
+        public List<Product> findPage(ProductCursor after, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return Stream.empty();
+        }
+
+        @Override
+        public List<Product> search(String text, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public int repriceAll(Margin margin) {
+            repricings.add(margin);
+            return 0;
+        }
+    };
+
+    private final GlobalConfigProvider provider = new GlobalConfigProvider(fakeRepo);
+    private final UpdateGlobalConfig useCase = new UpdateGlobalConfig(fakeRepo, fakeProducts, provider);
 
     @Test
     @DisplayName("Should allow ADMIN to update profit margin")
@@ -47,6 +103,40 @@ class UpdateGlobalConfigTest {
             .getDefaultProfitMargin());
     }
 
+    @Test
+    @DisplayName("Should reprice every product at the new margin, and only when it changes")
+    void shouldRepriceProductsWhenMarginChanges() {
+        User admin = new User("admin", "1234", UserRole.ADMIN);
+
+        useCase.execute(admin, new BigDecimal("0.45"));
+        useCase.execute(admin, new BigDecimal("0.450"));
+
+        assertEquals(List.of(new Margin(4_500)), repricings);
+    }
+
+    @Test
+    @DisplayName("Should publish the new configuration to the provider and its subscribers")
+    void shouldPublishNewConfig() {
+        User admin = new User("admin", "1234", UserRole.ADMIN);
+        List<GlobalConfigSnapshot> published = new ArrayList<>();
+        assertEquals(new Margin(1_000), provider.current().profitMargin());
+        provider.subscribe(published::add);
+
+        useCase.execute(admin, new BigDecimal("0.45"));
+
+        assertEquals(new Margin(4_500), provider.current().profitMargin());
+        assertEquals(List.of(new GlobalConfigSnapshot(new Margin(4_500))), published);
+    }
+
+    @Test
+    @DisplayName("Should reject a margin finer than a hundredth of a percent")
+    void shouldRejectTooPreciseMargin() {
+        User admin = new User("admin", "1234", UserRole.ADMIN);
+
+        assertThrows(DomainException.class, () -> useCase.execute(admin, new BigDecimal("0.33333")));
+        assertTrue(repricings.isEmpty());
+    }
+
     @Test
     @DisplayName("Should DENY access to SELLER")
     void shouldDenyAccessToSeller() {
@@ -1,17 +1,21 @@
 package application.usecases;
 
+import application.dtos.ProductCursor;
 import application.dtos.UpdateProductDTO;
 import application.interfaces.ProductRepository;
+import domain.common.ConcurrentUpdateException;
 import domain.common.DomainException;
+import domain.common.Money;
+import domain.common.Quantity;
 import domain.stock.Barcode;
 import domain.stock.Product;
 import domain.stock.UnitType;
 import domain.users.User;
 import domain.users.UserRole;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -30,7 +34,7 @@ class UpdateProductDetailsTest {
         db = new ArrayList<>();
         admin = new User("admin", "1234", UserRole.ADMIN);
 
-        Product p1 = new Product("Coca", new Barcode("111"), UnitType.UNIT, BigDecimal.TEN, BigDecimal.TEN);
+        Product p1 = new Product("Coca", new Barcode("111"), UnitType.UNIT, Quantity.parse("10"), Money.parse("10"));
 
         db.add(p1);
 
@@ -47,6 +51,12 @@ class UpdateProductDetailsTest {
             }
             @Override
             public List<Product> findAll() { return db; }
+            @Override
+            public List<Product> findPage(ProductCursor after, int limit) { return db; }
+            @Override
+            public Stream<Product> streamAll() { return db.stream(); }
+            @Override
+            public List<Product> search(String text, int limit) { return List.of(); }
         };
 
         useCase = new UpdateProductDetails(fakeRepo);
@@ -58,33 +68,52 @@ class UpdateProductDetailsTest {
         Product original = db.get(0);
         UpdateProductDTO dto = new UpdateProductDTO(
             original.getId(),
+            original.getVersion(),
             "Coca Zero",
             "Sin azucar",
             "111",
             UnitType.UNIT,
-            new BigDecimal("12.00")
+            Money.parse("12.00")
         );
 
         useCase.execute(admin, dto);
 
         assertEquals("Coca Zero", original.getName());
-        assertEquals(new BigDecimal("12.00"), original.getCost());
+        assertEquals(Money.parse("12.00"), original.getCost());
     }
 
     @Test
     @DisplayName("Should fail if new barcode belongs to another product")
     void shouldFail_IfBarcodeCollision() {
-        db.add(new Product("Pepsi", new Barcode("222"), UnitType.UNIT, BigDecimal.TEN, BigDecimal.TEN));
+        db.add(new Product("Pepsi", new Barcode("222"), UnitType.UNIT, Quantity.parse("10"), Money.parse("10")));
 
         Product original = db.get(0);
 
         UpdateProductDTO dto = new UpdateProductDTO(
             original.getId(),
+            original.getVersion(),
             "Coca", "Desc",
             "222",
-            UnitType.UNIT, BigDecimal.TEN
+            UnitType.UNIT, Money.parse("10")
         );
 
         assertThrows(DomainException.class, () -> useCase.execute(admin, dto));
     }
+
+    @Test
+    @DisplayName("Should fail if the product was saved after the caller read it")
+    void shouldFail_IfProductChangedSinceRead() {
+        Product original = db.get(0);
+
+        UpdateProductDTO dto = new UpdateProductDTO(
+            original.getId(),
+            3L,
+            "Coca Light", "Desc",
+            "111",
+            UnitType.UNIT, Money.parse("10")
+        );
+
+        assertThrows(ConcurrentUpdateException.class, () -> useCase.execute(admin, dto));
+        assertEquals("Coca", original.getName());
+    }
 }
@@ -0,0 +1,41 @@
+package domain.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarginTest {
+
+    @Test
+    @DisplayName("Should hold margins as basis points and print them as fractions")
+    void shouldConvertToBasisPoints() {
+        Margin margin = Margin.of(new BigDecimal("0.35"));
+
+        assertEquals(new Margin(3_500), margin);
+        assertEquals("0.35", margin.toString());
+        assertEquals(new BigDecimal("0.3500"), margin.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should reject negative margins and fractions of a basis point")
+    void shouldRejectInvalidMargins() {
+        assertThrows(DomainException.class, () -> Margin.of(new BigDecimal("-0.10")));
+        assertThrows(DomainException.class, () -> Margin.of(new BigDecimal("0.12345")));
+    }
+
+    @Test
+    @DisplayName("Should price a cost rounding half up to the cent, like the decimal computation")
+    void shouldApplyToCost() {
+        Margin margin = Margin.of(new BigDecimal("0.3333"));
+
+        for (long cents = 0; cents < 10_000; cents++) {
+            Money cost = new Money(cents);
+            BigDecimal expected = cost.toBigDecimal().multiply(new BigDecimal("1.3333")).setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, margin.applyTo(cost).toBigDecimal(), cost.toString());
+        }
+        assertEquals(Money.parse("1.34"), Margin.of(new BigDecimal("0.35")).applyTo(Money.parse("0.99")));
+    }
+}
@@ -0,0 +1,48 @@
+package domain.common;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("Should parse amounts into cents and print them with two decimals")
+    void shouldParseIntoCents() {
+        Money amount = Money.parse("1500,5");
+
+        assertEquals(new Money(150050), amount);
+        assertEquals("1500.50", amount.toString());
+    }
+
+    @Test
+    @DisplayName("Should reject fractions of a cent")
+    void shouldRejectFractionsOfCent() {
+        assertThrows(DomainException.class, () -> Money.parse("10.005"));
+    }
+
+    @Test
+    @DisplayName("Should add and subtract without losing cents")
+    void shouldDoArithmetic() {
+        Money total = Money.parse("0.10").plus(Money.parse("0.20"));
+
+        assertEquals(Money.parse("0.30"), total);
+        assertEquals(Money.ZERO, total.minus(Money.parse("0.3")));
+    }
+
+    @Test
+    @DisplayName("Should price quantities rounding half up to the cent")
+    void shouldMultiplyByQuantity() {
+        assertEquals(Money.parse("2800.00"), Money.parse("8000.00").times(Quantity.parse("0.350")));
+        assertEquals(Money.parse("0.04"), Money.parse("0.07").times(Quantity.parse("0.5")));
+    }
+
+    @Test
+    @DisplayName("Should apply a profit margin to a cost")
+    void shouldMarkUp() {
+        assertEquals(Money.parse("150.00"), Money.parse("100.00").markedUp(new BigDecimal("0.50")));
+        assertEquals(Money.parse("1.34"), Money.parse("0.99").markedUp(new BigDecimal("0.35")));
+    }
+}
@@ -0,0 +1,37 @@
+package domain.common;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantityTest {
+
+    @Test
+    @DisplayName("Should parse decimals with dot or comma into thousandths")
+    void shouldParseIntoThousandths() {
+        assertEquals(new Quantity(1250), Quantity.parse("1,25"));
+        assertEquals(new Quantity(1250), Quantity.parse("1.250"));
+        assertEquals(Quantity.ofUnits(3), Quantity.of(new BigDecimal("3")));
+    }
+
+    @Test
+    @DisplayName("Should reject more precision than a thousandth")
+    void shouldRejectExtraPrecision() {
+        assertThrows(DomainException.class, () -> Quantity.parse("0.0005"));
+    }
+
+    @Test
+    @DisplayName("Should add, subtract and tell whole quantities apart")
+    void shouldDoArithmetic() {
+        Quantity stock = Quantity.parse("2.5").plus(Quantity.parse("0.5"));
+
+        assertEquals(Quantity.ofUnits(3), stock);
+        assertTrue(stock.isWhole());
+        assertFalse(stock.minus(Quantity.parse("0.001")).isWhole());
+        assertEquals(-1, stock.negate().signum());
+        assertEquals("3", stock.toString());
+        assertEquals("2.999", stock.minus(Quantity.parse("0.001")).toString());
+    }
+}
@@ -0,0 +1,51 @@
+package domain.common;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdGeneratorTest {
+
+    private static final long NOW = 1_792_331_125_442L;
+
+    @Test
+    @DisplayName("Should produce UUIDv7 ids carrying the creation time")
+    void shouldProduceVersion7Ids() {
+        String id = new TimeOrderedIdGenerator(() -> NOW).nextId();
+
+        UUID uuid = UUID.fromString(id);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW, uuid.getMostSignificantBits() >>> 16);
+        assertEquals(36, id.length());
+    }
+
+    @Test
+    @DisplayName("Should keep ids increasing as strings within the same millisecond and when the clock goes back")
+    void shouldKeepIdsIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(clock::get);
+
+        String previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i == 5_000) {
+                clock.addAndGet(-1_000);
+            }
+            String next = generator.nextId();
+            assertTrue(next.compareTo(previous) > 0, next + " should sort after " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should sort ids by creation time")
+    void shouldSortByTime() {
+        String earlier = new TimeOrderedIdGenerator(() -> NOW).nextId();
+        String later = new TimeOrderedIdGenerator(() -> NOW + 1).nextId();
+
+        assertTrue(later.compareTo(earlier) > 0);
+    }
+}
@@ -0,0 +1,100 @@
+package domain.salesbox;
+
+import domain.common.DomainException;
+import domain.common.Margin;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.UnitType;
+import domain.users.User;
+import domain.users.UserRole;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BasketTest {
+
+    private final Basket basket = new Basket();
+    private final Product coca = new Product("Coca", new Barcode("111"), UnitType.UNIT,
+        Quantity.parse("10"), Money.parse("100.00"));
+    private final Product queso = new Product("Queso", new Barcode("222"), UnitType.FRACTION,
+        Quantity.parse("5"), Money.parse("8000.00"));
+
+    @BeforeEach
+    void priceProducts() {
+        coca.priceWith(Margin.of(new BigDecimal("0.50")));
+        queso.priceWith(Margin.of(new BigDecimal("0.50")));
+    }
+
+    @Test
+    @DisplayName("Should price scanned products with the margin and keep the total")
+    void shouldPriceLinesAndTotal() {
+        BasketLine line = basket.scan(coca, Quantity.parse("2"));
+        basket.scan(queso, Quantity.parse("0.350"));
+
+        assertEquals(Money.parse("150.00"), line.unitPrice());
+        assertEquals(Money.parse("300.00"), line.total());
+        assertEquals(Money.parse("4500.00"), basket.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should refuse a product that has no sale price yet")
+    void shouldRefuseUnpricedProduct() {
+        Product unpriced = new Product("Pan", new Barcode("333"), UnitType.UNIT, Quantity.parse("3"),
+            Money.parse("50.00"));
+
+        assertThrows(DomainException.class, () -> basket.scan(unpriced, Quantity.parse("1")));
+        assertTrue(basket.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should accumulate repeated scans of the same barcode in one line")
+    void shouldAccumulateSameBarcode() {
+        basket.scan(coca, Quantity.parse("1"));
+        basket.scan(coca, Quantity.parse("1"));
+        basket.scan(coca, Quantity.parse("1"));
+
+        assertEquals(1, basket.getLines().size());
+        assertEquals(Quantity.parse("3"), basket.getLines().get(0).quantity());
+        assertEquals(Money.parse("450.00"), basket.getTotal());
+    }
+
+    @Test
+    @DisplayName("Should reject scanning more than the known stock")
+    void shouldRejectMoreThanStock() {
+        basket.scan(coca, Quantity.parse("10"));
+
+        assertThrows(DomainException.class, () -> basket.scan(coca, Quantity.parse("1")));
+        assertEquals(Quantity.parse("10"), basket.getLines().get(0).quantity());
+    }
+
+    @Test
+    @DisplayName("Should reject fractional quantities of unit products")
+    void shouldRejectFractionalUnits() {
+        assertThrows(DomainException.class, () -> basket.scan(coca, Quantity.parse("0.5")));
+    }
+
+    @Test
+    @DisplayName("Should take removed lines out of the total")
+    void shouldRemoveLine() {
+        basket.scan(coca, Quantity.parse("2"));
+        basket.scan(queso, Quantity.parse("1"));
+
+        basket.remove(new Barcode("222"));
+
+        assertEquals(Money.parse("300.00"), basket.getTotal());
+        assertEquals(1, basket.getLines().size());
+    }
+
+    @Test
+    @DisplayName("Should not check out an empty basket")
+    void shouldNotCheckOutEmptyBasket() {
+        User cashier = new User("caja", "1234", UserRole.SELLER);
+
+        assertThrows(DomainException.class, () -> basket.checkout(cashier));
+    }
+}
@@ -1,7 +1,11 @@
 package domain.stock;
 
 import domain.common.DomainException;
+import domain.common.Margin;
+import domain.common.Money;
+import domain.common.Quantity;
 import java.math.BigDecimal;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -16,14 +20,14 @@ class ProductTest {
             "Coca",
             new Barcode("779123456"),
             UnitType.UNIT,
-            new BigDecimal("10.0"),
-            new BigDecimal("100.00")
+            Quantity.parse("10.0"),
+            Money.parse("100.00")
         );
 
         assertNotNull(coca.getId());
         assertEquals(new Barcode("779123456"), coca.getBarcode());
-        assertEquals(new BigDecimal("100.00"), coca.getCost());
-        assertEquals(new BigDecimal("10.0"), coca.getStockQuantity());
+        assertEquals(Money.parse("100.00"), coca.getCost());
+        assertEquals(Quantity.parse("10.0"), coca.getStockQuantity());
     }
 
     @Test
@@ -34,8 +38,8 @@ class ProductTest {
                 "Coca",
                 new Barcode(""),
                 UnitType.UNIT,
-                new BigDecimal("10.0"),
-                new BigDecimal("100.00")
+                Quantity.parse("10.0"),
+                Money.parse("100.00")
             );
         });
     }
@@ -47,16 +51,16 @@ class ProductTest {
             "Coca",
             new Barcode("111222"),
             UnitType.UNIT,
-            new BigDecimal("5.0"),
-            new BigDecimal("100.00")
+            Quantity.parse("5.0"),
+            Money.parse("100.00")
         );
 
-        assertEquals(new BigDecimal("100.00"), coca.getCost());
+        assertEquals(Money.parse("100.00"), coca.getCost());
 
-        coca.restock(new BigDecimal("10.0"), new BigDecimal("150.00"));
+        coca.restock(Quantity.parse("10.0"), Money.parse("150.00"));
 
-        assertEquals(new BigDecimal("15.0"), coca.getStockQuantity());
-        assertEquals(new BigDecimal("150.00"), coca.getCost());
+        assertEquals(Quantity.parse("15.0"), coca.getStockQuantity());
+        assertEquals(Money.parse("150.00"), coca.getCost());
     }
 
     @Test
@@ -67,8 +71,8 @@ class ProductTest {
                 "Coca",
                 new Barcode("123"),
                 UnitType.UNIT,
-                new BigDecimal("1.5"),
-                new BigDecimal("100.00")
+                Quantity.parse("1.5"),
+                Money.parse("100.00")
             );
         }, "Should throw DomainException because UNIT cannot have fractional stock");
     }
@@ -80,12 +84,12 @@ class ProductTest {
             "Coca",
             new Barcode("123"),
             UnitType.UNIT,
-            new BigDecimal("5.0"),
-            new BigDecimal("50.00")
+            Quantity.parse("5.0"),
+            Money.parse("50.00")
         );
 
         assertThrows(DomainException.class, () -> {
-            coca.restock(new BigDecimal("0.5"), coca.getCost());
+            coca.restock(Quantity.parse("0.5"), coca.getCost());
         });
     }
 
@@ -96,13 +100,13 @@ class ProductTest {
             "Tela",
             new Barcode("999"),
             UnitType.FRACTION,
-            new BigDecimal("10.0"),
-            new BigDecimal("500.00")
+            Quantity.parse("10.0"),
+            Money.parse("500.00")
         );
 
-        tela.reduceStock(new BigDecimal("1.5"));
+        tela.reduceStock(Quantity.parse("1.5"));
 
-        assertEquals(new BigDecimal("8.5"), tela.getStockQuantity());
+        assertEquals(Quantity.parse("8.5"), tela.getStockQuantity());
     }
 
     @Test
@@ -112,12 +116,12 @@ class ProductTest {
             "Tela",
             new Barcode("999"),
             UnitType.FRACTION,
-            new BigDecimal("2.0"),
-            new BigDecimal("500.00")
+            Quantity.parse("2.0"),
+            Money.parse("500.00")
         );
 
         assertThrows(DomainException.class, () -> {
-            tela.reduceStock(new BigDecimal("2.1"));
+            tela.reduceStock(Quantity.parse("2.1"));
         }, "Should fail because stock would become negative");
     }
 
@@ -125,7 +129,7 @@ class ProductTest {
     @DisplayName("Should update product details successfully")
     void shouldUpdateProductDetails() {
         Product product = new Product("Coca", new Barcode("111"),
-            UnitType.UNIT, BigDecimal.TEN, BigDecimal.TEN);
+            UnitType.UNIT, Quantity.parse("10"), Money.parse("10"));
         Barcode newBarcode = new Barcode("222");
 
         product.updateDetails(
@@ -133,20 +137,20 @@ class ProductTest {
             "Sin azúcar",
             newBarcode,
             UnitType.UNIT,
-            new BigDecimal("120.00")
+            Money.parse("120.00")
         );
 
         assertEquals("Coca Zero", product.getName());
         assertEquals("Sin azúcar", product.getDescription());
         assertEquals(newBarcode, product.getBarcode());
-        assertEquals(new BigDecimal("120.00"), product.getCost());
+        assertEquals(Money.parse("120.00"), product.getCost());
     }
 
     @Test
     @DisplayName("Should fail when changing type to UNIT if stock has decimals")
     void shouldFail_WhenChangingToUnitWithDecimalStock() {
         Product pan = new Product("Pan", new Barcode("333"), UnitType.FRACTION,
-            new BigDecimal("1.5"), BigDecimal.TEN);
+            Quantity.parse("1.5"), Money.parse("10"));
 
         assertThrows(DomainException.class, () -> {
             pan.updateDetails(
@@ -163,21 +167,76 @@ class ProductTest {
     @DisplayName("Should adjust stock manually")
     void shouldAdjustStockManually() {
         Product product = new Product("Coca", new Barcode("111"), UnitType.UNIT,
-            BigDecimal.TEN, BigDecimal.TEN);
+            Quantity.parse("10"), Money.parse("10"));
 
-        product.adjustStock(new BigDecimal("5.0"));
+        product.adjustStock(Quantity.parse("5.0"));
 
-        assertEquals(new BigDecimal("5.0"), product.getStockQuantity());
+        assertEquals(Quantity.parse("5.0"), product.getStockQuantity());
+    }
+
+    @Test
+    @DisplayName("Should record every stock change once, as a signed delta")
+    void shouldRecordStockChangesOnce() {
+        Product product = new Product("Coca", new Barcode("111"), UnitType.UNIT,
+            Quantity.parse("10"), Money.parse("10"));
+        product.restock(Quantity.parse("5"), Money.parse("10"));
+        product.reduceStock(Quantity.parse("3"));
+        product.adjustStock(Quantity.parse("10"));
+
+        List<StockChange> changes = product.pullStockChanges();
+
+        assertEquals(List.of(
+            new StockChange(Quantity.parse("10"), StockMovementReason.INITIAL_STOCK),
+            new StockChange(Quantity.parse("5"), StockMovementReason.RESTOCK),
+            new StockChange(Quantity.parse("-3"), StockMovementReason.SALE),
+            new StockChange(Quantity.parse("-2"), StockMovementReason.ADJUSTMENT)
+        ), changes);
+        assertTrue(product.pullStockChanges().isEmpty());
     }
 
     @Test
     @DisplayName("Should fail when adjusting stock to negative")
     void shouldFail_WhenAdjustingStockToNegative() {
         Product product = new Product("Coca", new Barcode("111"), UnitType.UNIT,
-            BigDecimal.TEN, BigDecimal.TEN);
+            Quantity.parse("10"), Money.parse("10"));
 
         assertThrows(DomainException.class, () -> {
-            product.adjustStock(new BigDecimal("-1.0"));
+            product.adjustStock(Quantity.parse("-1.0"));
         });
     }
+
+    @Test
+    @DisplayName("Should restore an equal, independent product from its snapshot")
+    void shouldRestoreProductFromSnapshot() {
+        Product original = new Product("Coca", new Barcode("111"), UnitType.UNIT,
+            Quantity.parse("10"), Money.parse("10"));
+        original.setDescription("Lata");
+
+        Product restored = Product.restore(original.snapshot());
+        restored.restock(Quantity.parse("1"), Money.parse("12"));
+
+        assertEquals(original, restored);
+        assertEquals("Lata", restored.getDescription());
+        assertEquals(new Barcode("111"), restored.getBarcode());
+        assertEquals(Quantity.parse("10"), original.getStockQuantity());
+        assertEquals(Quantity.parse("11"), restored.getStockQuantity());
+    }
+
+    @Test
+    @DisplayName("Should keep the sale price in step with the cost once priced")
+    void shouldRepriceWhenCostChanges() {
+        Product coca = new Product("Coca", new Barcode("111"), UnitType.UNIT,
+            Quantity.parse("10"), Money.parse("100"));
+        assertNull(coca.getPrice());
+
+        coca.priceWith(Margin.of(new BigDecimal("0.50")));
+        assertEquals(Money.parse("150"), coca.getPrice());
+
+        coca.restock(Quantity.parse("1"), Money.parse("120"));
+        assertEquals(Money.parse("180"), coca.getPrice());
+
+        coca.updateDetails("Coca", null, new Barcode("111"), UnitType.UNIT, Money.parse("0.99"));
+        assertEquals(Money.parse("1.49"), coca.getPrice());
+        assertEquals(Money.parse("1.49"), Product.restore(coca.snapshot()).getPrice());
+    }
 }
@@ -0,0 +1,121 @@
+package infrastructure.catalog;
+
+import application.dtos.CatalogRow;
+import domain.common.DomainException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogFileTest {
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<CatalogRow> read(CatalogFile catalog) {
+        try (Stream<CatalogRow> rows = catalog.rows()) {
+            return rows.toList();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read quoted fields, with separators and escaped quotes inside them")
+    void shouldReadQuotedFields() throws IOException {
+        Path file = write("quoted.csv", "barcode,name,description,unit_type,quantity,cost\n"
+            + "779001,\"Yerba, 1kg\",\"La \"\"buena\"\"\",UNIT,10,\"1500,50\"\n");
+
+        List<CatalogRow> rows = read(CatalogFile.csv(file));
+
+        assertEquals(List.of(new CatalogRow(2, "779001", "Yerba, 1kg", "La \"buena\"", "UNIT", "10", "1500,50")),
+            rows);
+    }
+
+    @Test
+    @DisplayName("Should use the separator of the header: comma, semicolon or tab")
+    void shouldDetectSeparator() throws IOException {
+        for (String separator : List.of(",", ";", "\t")) {
+            Path file = write("sep.csv", String.join(separator, "barcode", "name", "cost") + "\n"
+                + String.join(separator, "779001", "Yerba", "1500,50") + "\n");
+
+            CatalogRow row = read(CatalogFile.csv(file)).get(0);
+
+            assertEquals("779001", row.barcode());
+            assertEquals("Yerba", row.name());
+            assertEquals(separator.equals(",") ? "1500" : "1500,50", row.cost());
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip the byte order mark and match header names in any case, spacing or order")
+    void shouldNormaliseHeader() throws IOException {
+        Path file = write("excel.csv", "\uFEFFCost;Unit Type;BARCODE;Proveedor;Name\n"
+            + "1500;FRACTION;779001;Acme;Yerba\n");
+
+        List<CatalogRow> rows = read(CatalogFile.csv(file));
+
+        assertEquals(List.of(new CatalogRow(2, "779001", "Yerba", null, "FRACTION", null, "1500")), rows);
+    }
+
+    @Test
+    @DisplayName("Should refuse a header without a barcode column as soon as the catalog is opened")
+    void shouldRefuseHeaderWithoutBarcode() throws IOException {
+        Path file = write("nobarcode.csv", "name,cost\nYerba,1500\n");
+
+        DomainException e = assertThrows(DomainException.class, () -> CatalogFile.csv(file).rows());
+        assertEquals("The catalog header has no barcode column: name,cost", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should skip blank lines and keep numbering rows by their line in the file")
+    void shouldSkipBlankLines() throws IOException {
+        Path file = write("blank.csv", "barcode,name\n\n779001,Yerba\n   \n779002,Azucar\n");
+
+        List<CatalogRow> rows = read(CatalogFile.csv(file));
+
+        assertEquals(List.of(3L, 5L), rows.stream().map(CatalogRow::line).toList());
+        assertEquals("779002", rows.get(1).barcode());
+    }
+
+    @Test
+    @DisplayName("Should cut fixed-width lines by column, leaving the columns past a short line empty")
+    void shouldReadFixedWidth() throws IOException {
+        Path file = write("fixed.txt", "779001 Yerba     Mate      UNIT 10   1500 \n"
+            + "779002 Azucar\n");
+
+        List<CatalogRow> rows = read(CatalogFile.fixedWidth(file, 7, 10, 10, 5, 5, 5));
+
+        assertEquals(List.of(
+            new CatalogRow(1, "779001", "Yerba", "Mate", "UNIT", "10", "1500"),
+            new CatalogRow(2, "779002", "Azucar", null, null, null, null)), rows);
+    }
+
+    @Test
+    @DisplayName("Should refuse fixed widths that do not cover the six columns")
+    void shouldRefuseWrongWidths() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogFile.fixedWidth(dir.resolve("x.txt"), 7, 10));
+    }
+
+    @Test
+    @DisplayName("Should identify a catalog by its contents, so a renamed copy has the same id")
+    void shouldIdentifyByContents() throws IOException {
+        Path original = write("proveedor.csv", "barcode,name\n779001,Yerba\n");
+        Path copy = Files.copy(original, dir.resolve("proveedor (1).csv"));
+        Path changed = write("otro.csv", "barcode,name\n779001,Yerba Mate\n");
+
+        assertEquals(CatalogFile.csv(original).id(), CatalogFile.csv(copy).id());
+        assertNotEquals(CatalogFile.csv(original).id(), CatalogFile.csv(changed).id());
+        assertEquals(64, CatalogFile.csv(original).id().length());
+        assertEquals("proveedor (1).csv", CatalogFile.csv(copy).name());
+    }
+}
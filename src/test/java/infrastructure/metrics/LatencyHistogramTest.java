@@ -0,0 +1,125 @@
+package infrastructure.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    private static final long HIGHEST_TRACKABLE = (1L << 37) - 1;
+    private static final int LAST_BUCKET = 1055;
+
+    private static long bucketTop(long value) {
+        return LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+    }
+
+    @Test
+    @DisplayName("Should keep values below 64 µs exact")
+    void shouldKeepSmallValuesExact() {
+        for (long value = 0; value < 64; value++) {
+            assertEquals(value, bucketTop(value), "value " + value);
+        }
+    }
+
+    @Test
+    @DisplayName("Should place every value in a bucket whose upper bound is within about 3% of it")
+    void shouldBoundBucketError() {
+        for (long value = 64; value <= HIGHEST_TRACKABLE; value += Math.max(1, value / 7)) {
+            long top = bucketTop(value);
+            assertTrue(top >= value, "value " + value + " above its bucket " + top);
+            assertTrue(top - value <= value / 32, "value " + value + " too far below its bucket " + top);
+        }
+    }
+
+    @Test
+    @DisplayName("Should number buckets without gaps: the value after a bucket's top starts the next bucket")
+    void shouldNumberBucketsContiguously() {
+        for (int index = 0; index < LAST_BUCKET; index++) {
+            long top = LatencyHistogram.highestValueOf(index);
+            assertEquals(index, LatencyHistogram.indexOf(top), "top of bucket " + index);
+            assertEquals(index + 1, LatencyHistogram.indexOf(top + 1), "after bucket " + index);
+        }
+        assertEquals(LAST_BUCKET, LatencyHistogram.indexOf(HIGHEST_TRACKABLE));
+        assertEquals(HIGHEST_TRACKABLE, LatencyHistogram.highestValueOf(LAST_BUCKET));
+    }
+
+    @Test
+    @DisplayName("Should clamp values above the trackable range into the last bucket and negatives to zero")
+    void shouldClampOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(2, snapshot.count());
+        assertEquals(HIGHEST_TRACKABLE, snapshot.maxMicros());
+        assertEquals(0, snapshot.percentileMicros(50));
+        assertEquals(HIGHEST_TRACKABLE / 2.0, snapshot.meanMicros(), 1);
+    }
+
+    @Test
+    @DisplayName("Should report exact percentiles over small values")
+    void shouldReportExactSmallPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1, snapshot.percentileMicros(0));
+        assertEquals(5, snapshot.percentileMicros(50));
+        assertEquals(9, snapshot.percentileMicros(90));
+        assertEquals(10, snapshot.percentileMicros(100));
+        assertEquals(5.5, snapshot.meanMicros());
+    }
+
+    @Test
+    @DisplayName("Should report p50 and p99 of a uniform distribution within the bucket precision")
+    void shouldReportPercentilesOfKnownDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(bucketTop(5_000), snapshot.percentileMicros(50));
+        assertEquals(bucketTop(9_900), snapshot.percentileMicros(99));
+        assertTrue(snapshot.percentileMicros(50) <= 5_000 * 1.03);
+        assertTrue(snapshot.percentileMicros(99) <= 9_900 * 1.03);
+        assertEquals(bucketTop(10_000), snapshot.maxMicros());
+    }
+
+    @Test
+    @DisplayName("Should report only what was recorded after an earlier snapshot")
+    void shouldSubtractEarlierSnapshot() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1_000);
+        }
+        LatencyHistogram.Snapshot earlier = histogram.snapshot();
+        histogram.record(10);
+        histogram.record(30);
+
+        LatencyHistogram.Snapshot interval = histogram.snapshot().since(earlier);
+
+        assertEquals(2, interval.count());
+        assertEquals(20.0, interval.meanMicros());
+        assertEquals(30, interval.maxMicros());
+        assertEquals(10, interval.percentileMicros(50));
+    }
+
+    @Test
+    @DisplayName("Should report zeros when nothing was recorded")
+    void shouldReportZerosWhenEmpty() {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        assertEquals(0, snapshot.count());
+        assertEquals(0, snapshot.meanMicros());
+        assertEquals(0, snapshot.percentileMicros(99));
+        assertEquals(0, snapshot.maxMicros());
+    }
+}
@@ -0,0 +1,37 @@
+package infrastructure.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StoreMetricsTest {
+
+    private final StoreMetrics metrics = StoreMetrics.getInstance();
+
+    @Test
+    @DisplayName("Should record a call failing with an Error and rethrow it unchanged")
+    void shouldRecordError() {
+        StackOverflowError error = new StackOverflowError();
+
+        StackOverflowError thrown = assertThrows(StackOverflowError.class,
+            () -> metrics.time(StoreMetrics.USE_CASE, "StoreMetricsTest.error", () -> {
+                throw error;
+            }));
+
+        assertSame(error, thrown);
+        OperationStats stats = metrics.operation(StoreMetrics.USE_CASE, "StoreMetricsTest.error");
+        assertEquals(1, stats.getCalls());
+        assertEquals(1, stats.getErrors());
+    }
+
+    @Test
+    @DisplayName("Should record a successful call without an error")
+    void shouldRecordSuccess() {
+        assertEquals("ok", metrics.time(StoreMetrics.USE_CASE, "StoreMetricsTest.success", () -> "ok"));
+
+        OperationStats stats = metrics.operation(StoreMetrics.USE_CASE, "StoreMetricsTest.success");
+        assertEquals(1, stats.getCalls());
+        assertEquals(0, stats.getErrors());
+    }
+}
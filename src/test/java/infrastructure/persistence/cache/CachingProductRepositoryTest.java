@@ -0,0 +1,140 @@
+package infrastructure.persistence.cache;
+
+import application.dtos.ProductCursor;
+import application.interfaces.ProductRepository;
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.Barcode;
+import domain.stock.Product;
+import domain.stock.UnitType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingProductRepositoryTest {
+
+    private final Map<String, Product> stored = new HashMap<>();
+    private final List<String> lookups = new ArrayList<>();
+    private Runnable duringLoad = () -> { };
+
+    private final ProductRepository fakeRepo = new ProductRepository() {
+        @Override
+        public Product save(Product product) {
+            stored.put(product.getId(), Product.restore(product.snapshot()));
+            return product;
+        }
+
+        @Override
+        public Optional<Product> findById(String id) {
+            lookups.add(id);
+            return Optional.ofNullable(stored.get(id)).map(product -> Product.restore(product.snapshot()));
+        }
+
+        @Override
+        public Optional<Product> findByBarcode(Barcode barcode) {
+            lookups.add(barcode.getValue());
+            Optional<Product> found = stored.values().stream()
+                .filter(product -> product.getBarcode().equals(barcode))
+                .findFirst()
+                .map(product -> Product.restore(product.snapshot()));
+            duringLoad.run();
+            return found;
+        }
+
+        @Override
+        public List<Product> findAll() {
+            return List.copyOf(stored.values());
+        }
+
+        @Override
+        public List<Product> findPage(ProductCursor after, int limit) {
+            lookups.add("page");
+            return stored.values().stream().limit(limit).toList();
+        }
+
+        @Override
+        public Stream<Product> streamAll() {
+            return stored.values().stream();
+        }
+
+        @Override
+        public List<Product> search(String text, int limit) {
+            return List.of();
+        }
+    };
+
+    private final ProductSnapshotCache cache = new ProductSnapshotCache(100);
+    private final CachingProductRepository repository = new CachingProductRepository(fakeRepo, cache);
+
+    private Product storeProduct(String barcode) {
+        Product product = new Product("Yerba", new Barcode(barcode), UnitType.UNIT, Quantity.parse("10"),
+            Money.parse("100"));
+        product.pullStockChanges();
+        stored.put(product.getId(), product);
+        return product;
+    }
+
+    @Test
+    @DisplayName("Should read a product from storage once and then from the cache, as a fresh instance")
+    void shouldReadThrough() {
+        storeProduct("779001");
+
+        Product first = repository.findByBarcode(new Barcode("779001")).orElseThrow();
+        Product second = repository.findByBarcode(new Barcode("779001")).orElseThrow();
+        Product byId = repository.findById(first.getId()).orElseThrow();
+
+        assertEquals(List.of("779001"), lookups);
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(first, byId);
+    }
+
+    @Test
+    @DisplayName("Should stop serving the old barcode once a barcode edit is saved")
+    void shouldForgetOldBarcodeOnSave() {
+        Product product = storeProduct("779001");
+        repository.findByBarcode(new Barcode("779001"));
+
+        product.updateDetails("Yerba", null, new Barcode("779999"), UnitType.UNIT, Money.parse("100"));
+        repository.save(product);
+
+        assertTrue(repository.findByBarcode(new Barcode("779001")).isEmpty());
+        assertEquals(new Barcode("779999"), repository.findById(product.getId()).orElseThrow().getBarcode());
+        assertEquals(List.of("779001", "779001", product.getId()), lookups);
+    }
+
+    @Test
+    @DisplayName("Should not cache a product loaded while it was being saved")
+    void shouldNotCacheLoadRacingSave() {
+        Product product = storeProduct("779001");
+        duringLoad = () -> repository.save(product);
+
+        repository.findByBarcode(new Barcode("779001"));
+        duringLoad = () -> { };
+        repository.findByBarcode(new Barcode("779001"));
+
+        assertEquals(2, lookups.size());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should fill the cache with the first page on warm-up")
+    void shouldWarmUp() {
+        storeProduct("779001");
+        storeProduct("779002");
+
+        assertEquals(2, repository.warmUp(200));
+        repository.findByBarcode(new Barcode("779001"));
+        repository.findByBarcode(new Barcode("779002"));
+
+        assertEquals(List.of("page"), lookups);
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,129 @@
+package infrastructure.persistence.cache;
+
+import domain.common.Money;
+import domain.common.Quantity;
+import domain.stock.ProductSnapshot;
+import domain.stock.UnitType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSnapshotCacheTest {
+
+    private static ProductSnapshot snapshot(String id, String barcode) {
+        return new ProductSnapshot(id, null, "Producto " + id, null, barcode, UnitType.UNIT, Quantity.ZERO,
+            Money.parse("100"), null, null, 0L);
+    }
+
+    private static void put(ProductSnapshotCache cache, String id, String barcode) {
+        cache.putIfCurrent(snapshot(id, barcode), cache.generation());
+    }
+
+    @Test
+    @DisplayName("Should find a published snapshot by barcode and by id")
+    void shouldFindPublishedSnapshot() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10);
+        put(cache, "p1", "779001");
+
+        assertEquals("p1", cache.getByBarcode("779001").orElseThrow().id());
+        assertEquals("779001", cache.getById("p1").orElseThrow().barcode());
+        assertTrue(cache.getByBarcode("779002").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not publish a load that started before an invalidation")
+    void shouldDiscardLoadOlderThanInvalidation() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10);
+        long loadStarted = cache.generation();
+
+        cache.invalidate("p1", "779001");
+        cache.putIfCurrent(snapshot("p1", "779001"), loadStarted);
+
+        assertTrue(cache.getByBarcode("779001").isEmpty());
+        assertTrue(cache.getById("p1").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not publish a load that started before the cache was cleared")
+    void shouldDiscardLoadOlderThanClear() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10);
+        long loadStarted = cache.generation();
+
+        cache.clear();
+        cache.putIfCurrent(snapshot("p1", "779001"), loadStarted);
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should drop the old barcode when a product is invalidated under its new barcode")
+    void shouldDropOldBarcodeOnInvalidate() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10);
+        put(cache, "p1", "779001");
+
+        cache.invalidate("p1", "779999");
+
+        assertTrue(cache.getByBarcode("779001").isEmpty());
+        assertTrue(cache.getById("p1").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replace the entry of a product reloaded with another barcode")
+    void shouldReplaceEntryOnNewBarcode() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(10);
+        put(cache, "p1", "779001");
+
+        put(cache, "p1", "779999");
+
+        assertTrue(cache.getByBarcode("779001").isEmpty());
+        assertEquals("779999", cache.getById("p1").orElseThrow().barcode());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when the cache is full")
+    void shouldEvictLeastRecentlyUsed() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(3);
+        put(cache, "p1", "1");
+        put(cache, "p2", "2");
+        put(cache, "p3", "3");
+        cache.getByBarcode("1");
+        cache.getById("p2");
+
+        put(cache, "p4", "4");
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.getByBarcode("3").isEmpty());
+        assertTrue(cache.getById("p3").isEmpty());
+        assertTrue(cache.getByBarcode("1").isPresent());
+        assertTrue(cache.getByBarcode("2").isPresent());
+        assertTrue(cache.getByBarcode("4").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should evict a tenth of a large cache in one pass, oldest entries first")
+    void shouldEvictInBatches() {
+        ProductSnapshotCache cache = new ProductSnapshotCache(20);
+        for (int i = 1; i <= 20; i++) {
+            put(cache, "p" + i, String.valueOf(i));
+        }
+        cache.getByBarcode("1");
+
+        put(cache, "p21", "21");
+
+        assertEquals(18, cache.size());
+        assertTrue(cache.getByBarcode("1").isPresent());
+        assertTrue(cache.getByBarcode("21").isPresent());
+        for (int i = 2; i <= 4; i++) {
+            assertTrue(cache.getByBarcode(String.valueOf(i)).isEmpty(), "barcode " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a size that is not positive")
+    void shouldRefuseNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductSnapshotCache(0));
+    }
+}
@@ -0,0 +1,76 @@
+package infrastructure.persistence.config;
+
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationTest {
+
+    private static List<String> split(String script) {
+        return new SchemaMigration(1, "test", script, "").statements();
+    }
+
+    @Test
+    @DisplayName("Should split statements sharing a line")
+    void shouldSplitStatementsOnOneLine() {
+        assertEquals(List.of("CREATE TABLE a(x)", "CREATE TABLE b(y)"),
+            split("CREATE TABLE a(x); CREATE TABLE b(y);"));
+    }
+
+    @Test
+    @DisplayName("Should keep a last statement without its semicolon and skip empty ones")
+    void shouldKeepLastStatementAndSkipEmptyOnes() {
+        assertEquals(List.of("DELETE FROM a", "DELETE FROM b"), split(";;DELETE FROM a;\n\n;DELETE FROM b\n"));
+    }
+
+    @Test
+    @DisplayName("Should not end a statement at a semicolon inside a string or a quoted identifier")
+    void shouldIgnoreSemicolonsInQuotes() {
+        assertEquals(List.of("INSERT INTO \"odd;name\" VALUES ('a;b', 'it''s; -- not a comment')", "SELECT 1"),
+            split("INSERT INTO \"odd;name\" VALUES ('a;b', 'it''s; -- not a comment'); SELECT 1;"));
+    }
+
+    @Test
+    @DisplayName("Should drop line and block comments, semicolons in them included")
+    void shouldDropComments() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"),
+            split("-- first; still a comment\nSELECT 1; /* second; */ SELECT/* inline */2; -- trailing"));
+    }
+
+    @Test
+    @DisplayName("Should keep a trigger body whole, followed by a statement on the same line")
+    void shouldKeepTriggerBodies() {
+        List<String> statements = split("create trigger t after insert on a begin\n"
+            + "    insert into b values (new.x); delete from c;\nend; DROP TABLE d;");
+
+        assertEquals(2, statements.size());
+        assertEquals("create trigger t after insert on a begin\n"
+            + "    insert into b values (new.x); delete from c;\nend", statements.get(0));
+        assertEquals("DROP TABLE d", statements.get(1));
+    }
+
+    @Test
+    @DisplayName("Should recognize triggers whatever the default locale")
+    void shouldRecognizeTriggersInAnyLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals(1, split("create trigger t after delete on a begin delete from b; end;").size());
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    @DisplayName("Should split the shipped baseline into its tables, indexes and triggers")
+    void shouldSplitBaseline() {
+        List<String> statements = SchemaMigration.load("V1__baseline.sql").statements();
+
+        assertEquals(3, statements.stream().filter(sql -> sql.startsWith("CREATE TRIGGER")).count());
+        assertTrue(statements.stream().allMatch(sql -> !sql.startsWith("CREATE TRIGGER") || sql.endsWith("END")));
+        assertTrue(statements.stream().noneMatch(sql -> sql.contains("--")));
+    }
+}
@@ -0,0 +1,145 @@
+package infrastructure.persistence.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlTraceTest {
+
+    private static final long FAST = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(150);
+
+    private final Logger logger = Logger.getLogger(SqlTrace.class.getName());
+    private final List<LogRecord> logged = new CopyOnWriteArrayList<>();
+    private final Handler capture = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            if (record.getMessage().startsWith("SQL ")) {
+                logged.add(record);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeEach
+    void captureLog() {
+        logger.addHandler(capture);
+        logger.setUseParentHandlers(false);
+    }
+
+    @AfterEach
+    void releaseLog() {
+        logger.removeHandler(capture);
+        logger.setUseParentHandlers(true);
+    }
+
+    @Test
+    @DisplayName("Should log only slow and failed statements when nothing is sampled")
+    void shouldLogSlowAndFailedWithoutSampling() {
+        SqlTrace trace = new SqlTrace(0, 100, 0);
+
+        trace.record("query", "select 1", FAST, null);
+        trace.record("query", "select 2", SLOW, null);
+        trace.record("update", "update t set x = 1", FAST, new IllegalStateException("locked"));
+        trace.stop();
+
+        assertEquals(2, logged.size());
+        assertTrue(logged.get(0).getMessage().endsWith("select 2"));
+        assertEquals(Level.WARNING, logged.get(0).getLevel());
+        assertEquals(Level.WARNING, logged.get(1).getLevel());
+        assertEquals("locked", logged.get(1).getThrown().getMessage());
+    }
+
+    @Test
+    @DisplayName("Should log every statement at INFO when everything is sampled")
+    void shouldLogEverythingWhenSampled() {
+        SqlTrace trace = new SqlTrace(1, 100, 0);
+
+        trace.record("query", "select 1", FAST, null);
+        trace.record("commit", null, FAST, null);
+        trace.stop();
+
+        assertEquals(2, logged.size());
+        assertTrue(logged.stream().allMatch(record -> record.getLevel() == Level.INFO));
+        assertTrue(logged.get(1).getMessage().endsWith(": COMMIT"));
+    }
+
+    @Test
+    @DisplayName("Should clamp the sample rate and the slow threshold")
+    void shouldClampSettings() {
+        SqlTrace trace = new SqlTrace(5, -1, 0);
+
+        assertEquals(1, trace.getSampleRate());
+        assertEquals(0, trace.getSlowThresholdMillis());
+        trace.setSampleRate(-0.5);
+        assertEquals(0, trace.getSampleRate());
+    }
+
+    @Test
+    @DisplayName("Should drop and count the lines the writer cannot keep up with")
+    void shouldCountDroppedLines() {
+        SqlTrace trace = new SqlTrace(1, 100, 0);
+
+        for (int i = 0; i < 1100; i++) {
+            trace.record("query", "select " + i, FAST, null);
+        }
+
+        assertEquals(76, trace.getDroppedLines());
+        trace.stop();
+        assertEquals(1024, logged.size());
+    }
+
+    @Test
+    @DisplayName("Should aggregate statements beyond the distinct SQL limit under one entry")
+    void shouldBoundDistinctStatements() {
+        SqlTrace trace = new SqlTrace(0, 100, 0);
+        for (int i = 0; i < 2000; i++) {
+            trace.record("query", "select " + i, FAST, null);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            trace.record("query", "select new " + i, SLOW / 10, null);
+        }
+        trace.record("query", "select 7", FAST, null);
+
+        String dump = trace.dumpTopStatements(2);
+        assertTrue(dump.contains("10 calls"), dump);
+        assertTrue(dump.contains("(other statements)"), dump);
+        assertFalse(dump.contains("select new"), dump);
+        assertTrue(trace.dumpTopStatements(5000).contains("2 calls"));
+        trace.stop();
+    }
+
+    @Test
+    @DisplayName("Should write every queued line exactly once when a running trace stops")
+    void shouldFlushRunningWriterOnStop() {
+        SqlTrace trace = SqlTrace.start(Map.of("hibernate.storeflow.sql.trace.sample_rate", "1",
+            "hibernate.storeflow.sql.trace.top", "0"));
+
+        for (int i = 0; i < 500; i++) {
+            trace.record("query", "select " + i, FAST, null);
+        }
+        trace.stop();
+
+        assertEquals(500 - trace.getDroppedLines(), logged.size());
+        assertTrue(logged.get(logged.size() - 1).getMessage().endsWith("select 499"));
+    }
+}
@@ -0,0 +1,52 @@
+package infrastructure.ui;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UseCaseExecutorTest {
+
+    private final UseCaseExecutor executor = new UseCaseExecutor(1);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should complete the future with the result of the work")
+    void shouldCompleteWithResult() throws Exception {
+        CompletableFuture<String> result = executor.submit(() -> "done", value -> { }, error -> { });
+
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should fail the future when the work throws an Error instead of leaving it pending")
+    void shouldFailOnError() {
+        ExceptionInInitializerError error = new ExceptionInInitializerError("Static init failed");
+
+        CompletableFuture<Object> result = executor.submit(() -> {
+            throw error;
+        }, value -> { }, failure -> { });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertSame(error, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Should keep running work after a previous task threw an Error")
+    void shouldKeepWorkingAfterError() throws Exception {
+        CompletableFuture<Object> failed = executor.submit(() -> {
+            throw new StackOverflowError();
+        }, value -> { }, failure -> { });
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+
+        assertEquals(42, executor.submit(() -> 42, value -> { }, error -> { }).get(5, TimeUnit.SECONDS));
+    }
+}